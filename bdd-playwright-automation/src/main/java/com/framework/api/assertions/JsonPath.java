@@ -0,0 +1,120 @@
+package com.framework.api.assertions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Minimal JSON path: $.field, $.a.b, $[0], $.items[*].name, $['odd key']
+ *
+ * Evaluated either against a location during a token pass over the body
+ * (matchesAt / couldMatchBelow) or against an already parsed tree (select).
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+final class JsonPath {
+    private static final Object WILDCARD = new Object();
+
+    private final String expression;
+    private final List<Object> segments;
+
+    private JsonPath(String expression, List<Object> segments) {
+        this.expression = expression;
+        this.segments = segments;
+    }
+
+    // "address.city" is accepted as shorthand for "$.address.city"
+    static JsonPath parse(String expression) {
+        String path = expression.trim();
+        if (!path.startsWith("$")) {
+            path = path.startsWith("[") ? "$" + path : "$." + path;
+        }
+        List<Object> segments = new ArrayList<>();
+        int i = 1;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                int end = i + 1;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') end++;
+                String name = path.substring(i + 1, end);
+                if (name.isEmpty()) throw invalid(expression);
+                segments.add("*".equals(name) ? WILDCARD : name);
+                i = end;
+            } else if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) throw invalid(expression);
+                String inner = path.substring(i + 1, end).trim();
+                if ("*".equals(inner)) {
+                    segments.add(WILDCARD);
+                } else if (inner.length() >= 2 && (inner.startsWith("'") && inner.endsWith("'")
+                                                   || inner.startsWith("\"") && inner.endsWith("\""))) {
+                    segments.add(inner.substring(1, inner.length() - 1));
+                } else {
+                    try {
+                        segments.add(Integer.valueOf(inner));
+                    } catch (NumberFormatException e) {
+                        throw invalid(expression);
+                    }
+                }
+                i = end + 1;
+            } else {
+                throw invalid(expression);
+            }
+        }
+        return new JsonPath(expression, Collections.unmodifiableList(segments));
+    }
+
+    boolean matchesAt(List<Object> location) {
+        return location.size() == segments.size() && prefixMatches(location);
+    }
+
+    boolean couldMatchBelow(List<Object> location) {
+        return location.size() < segments.size() && prefixMatches(location);
+    }
+
+    // Nodes reached from node (found at depth) by the remaining segments
+    List<JsonNode> select(JsonNode node, int depth) {
+        List<JsonNode> selected = new ArrayList<>();
+        collect(node, depth, selected);
+        return selected;
+    }
+
+    private void collect(JsonNode node, int depth, List<JsonNode> selected) {
+        if (depth == segments.size()) {
+            selected.add(node);
+            return;
+        }
+        Object segment = segments.get(depth);
+        if (segment == WILDCARD) {
+            node.forEach(child -> collect(child, depth + 1, selected));
+        } else if (segment instanceof Integer) {
+            JsonNode child = node.isArray() ? node.get((Integer) segment) : null;
+            if (child != null) collect(child, depth + 1, selected);
+        } else {
+            JsonNode child = node.isObject() ? node.get((String) segment) : null;
+            if (child != null) collect(child, depth + 1, selected);
+        }
+    }
+
+    private boolean prefixMatches(List<Object> location) {
+        for (int i = 0; i < location.size(); i++) {
+            Object segment = segments.get(i);
+            if (segment != WILDCARD && !segment.equals(location.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static IllegalArgumentException invalid(String expression) {
+        return new IllegalArgumentException("Unsupported JSON path '" + expression
+                                            + "' (use $.field, $.a.b, $[0], $.items[*].name or $['key'])");
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -0,0 +1,422 @@
+package com.framework.api.assertions;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.framework.utils.JsonUtil;
+import io.restassured.response.Response;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Single-pass assertions over a JSON response body, read from the response stream
+ *
+ * Features:
+ * - of(response) reads the body once from {@code response.asInputStream()} with a
+ *   Jackson streaming parser; memory is the parser buffer plus the values a path
+ *   actually matches, not the body
+ * - Substring checks match the raw UTF-8 bytes as they stream past, and the
+ *   decoded field names and strings (so JSON-escaped text such as é is found)
+ * - JSON-path predicates ($.name, $.items[*].id) are evaluated in the same pass;
+ *   subtrees no pending expectation can reach are skipped without building nodes
+ * - The pass stops as soon as every expectation is satisfied
+ * - Several expectations are batched into one pass with expect...().verify()
+ * - reusable(response) parses the body once into a tree and keeps it, for callers
+ *   that verify the same response several times (e.g. one step per check)
+ *
+ * A streamed response can be verified once; a second verify() throws
+ * IllegalStateException. A path expectation passes when the path matches at
+ * least one value and any matched value satisfies the predicate.
+ *
+ * Usage:
+ * <pre>
+ * ResponseJsonAssert.of(response)
+ *     .expectContains("Leanne Graham")
+ *     .expectEquals("$.username", "Bret")
+ *     .expectPath("$.id", id -> id.asInt() > 0, "is positive")
+ *     .verify();
+ * </pre>
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public class ResponseJsonAssert {
+    private static final ObjectMapper MAPPER = JsonUtil.mapper();
+    private static final int PREVIEW_BYTES = 500;
+
+    // Exactly one of body and response is set
+    private final byte[] body;
+    private final Response response;
+    private final boolean reusable;
+    private final List<TextCheck> textChecks = new ArrayList<>();
+    private final List<PathCheck> pathChecks = new ArrayList<>();
+    private int passes;
+    private boolean consumed;
+    private JsonNode tree;
+    private String preview = "";
+
+    private ResponseJsonAssert(byte[] body, Response response, boolean reusable) {
+        this.body = body;
+        this.response = response;
+        this.reusable = reusable;
+    }
+
+    // Streams the body once; batch every expectation into a single verify()
+    public static ResponseJsonAssert of(Response response) {
+        return new ResponseJsonAssert(null, Objects.requireNonNull(response, "response"), false);
+    }
+
+    // Parses the body into a tree on the first verify() and serves every later one from it
+    public static ResponseJsonAssert reusable(Response response) {
+        return new ResponseJsonAssert(null, Objects.requireNonNull(response, "response"), true);
+    }
+
+    // The first pass streams over the bytes; later passes share a cached tree
+    public static ResponseJsonAssert of(byte[] body) {
+        return new ResponseJsonAssert(Objects.requireNonNull(body, "body"), null, true);
+    }
+
+    public ResponseJsonAssert expectContains(String text) {
+        textChecks.add(new TextCheck(text));
+        return this;
+    }
+
+    public ResponseJsonAssert expectExists(String path) {
+        return expectPath(path, node -> true, "exists");
+    }
+
+    // Compares the value's text form, so "1" matches the number 1
+    public ResponseJsonAssert expectEquals(String path, String expected) {
+        return expectPath(path, node -> !node.isContainerNode() && expected.equals(node.asText()),
+                          "equals '" + expected + "'");
+    }
+
+    public ResponseJsonAssert expectPath(String path, Predicate<JsonNode> predicate, String description) {
+        pathChecks.add(new PathCheck(JsonPath.parse(path), predicate, description));
+        return this;
+    }
+
+    public void assertContains(String text) {
+        expectContains(text).verify();
+    }
+
+    public void assertExists(String path) {
+        expectExists(path).verify();
+    }
+
+    public void assertEquals(String path, String expected) {
+        expectEquals(path, expected).verify();
+    }
+
+    // Evaluates and clears the pending expectations; throws AssertionError listing every failure
+    public void verify() {
+        List<TextCheck> texts = new ArrayList<>(textChecks);
+        List<PathCheck> paths = new ArrayList<>(pathChecks);
+        textChecks.clear();
+        pathChecks.clear();
+        passes++;
+
+        if (body != null) {
+            texts.forEach(check -> check.found = indexOf(body, check.needle));
+        }
+        List<TextCheck> pending = new ArrayList<>();
+        texts.stream().filter(check -> !check.found).forEach(pending::add);
+        try {
+            if (!paths.isEmpty() || !pending.isEmpty()) {
+                if (tree == null && (body != null ? passes > 1 : reusable)) {
+                    try (InputStream in = openBody()) {
+                        JsonNode parsed = MAPPER.readTree(in);
+                        tree = parsed != null ? parsed : MissingNode.getInstance();
+                    }
+                    preview = truncate(tree.toString());
+                }
+                if (tree != null) {
+                    paths.forEach(check -> check.path.select(tree, 0).forEach(check::offer));
+                    pending.forEach(check -> check.found = treeContains(tree, check.text));
+                } else {
+                    scan(pending, paths);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new AssertionError("Response body is not valid JSON: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new AssertionError("Response body could not be read: " + e.getMessage(), e);
+        }
+
+        List<String> failures = new ArrayList<>();
+        texts.stream().filter(check -> !check.found)
+            .forEach(check -> failures.add("body does not contain '" + check.text + "'"));
+        paths.stream().filter(check -> !check.satisfied).forEach(check -> failures.add(check.failure()));
+        if (!failures.isEmpty()) {
+            throw new AssertionError("Response assertion failed:\n - " + String.join("\n - ", failures)
+                                     + "\nBody" + (body != null ? " (" + body.length + " bytes)" : "") + ": "
+                                     + (body != null ? truncate(new String(body, StandardCharsets.UTF_8)) : preview));
+        }
+    }
+
+    private InputStream openBody() {
+        if (body != null) {
+            return new ByteArrayInputStream(body);
+        }
+        if (consumed) {
+            throw new IllegalStateException("The response body was already read by an earlier verify(); batch the "
+                                            + "expectations into one verify() or use ResponseJsonAssert.reusable()");
+        }
+        consumed = true;
+        return response.asInputStream();
+    }
+
+    // One pass: raw bytes feed the substring checks, tokens feed the path and decoded-text checks
+    private void scan(List<TextCheck> texts, List<PathCheck> paths) throws IOException {
+        Pass pass = new Pass(texts, paths);
+        // Bytes already held in memory were searched before the pass
+        ScanningInputStream raw = new ScanningInputStream(openBody(), body == null ? texts : List.of());
+        try (raw; JsonParser parser = MAPPER.getFactory().createParser(raw)) {
+            try {
+                if (!pass.done() && parser.nextToken() != null) {
+                    walk(parser, new ArrayList<>(), paths, pass);
+                }
+            } catch (JsonProcessingException e) {
+                if (!paths.isEmpty()) {
+                    throw e;
+                }
+                // Text checks still apply to a body that is not JSON
+                raw.drain();
+            }
+        } finally {
+            preview = raw.preview();
+        }
+    }
+
+    // parser is positioned on the first token of the value at location; returns true once every check passed
+    private boolean walk(JsonParser parser, List<Object> location, List<PathCheck> active, Pass pass) throws IOException {
+        List<PathCheck> exact = new ArrayList<>();
+        List<PathCheck> deeper = new ArrayList<>();
+        for (PathCheck check : active) {
+            if (check.satisfied) continue;
+            if (check.path.matchesAt(location)) exact.add(check);
+            else if (check.path.couldMatchBelow(location)) deeper.add(check);
+        }
+        if (!exact.isEmpty()) {
+            // Materialise just this value; checks targeting its descendants use the same node
+            JsonNode node = MAPPER.readTree(parser);
+            exact.forEach(check -> check.offer(node));
+            deeper.forEach(check -> check.path.select(node, location.size()).forEach(check::offer));
+            pass.texts.stream().filter(check -> !check.found)
+                .forEach(check -> check.found = treeContains(node, check.text));
+            return pass.done();
+        }
+        if (deeper.isEmpty() && !pass.hasPendingText()) {
+            parser.skipChildren();
+            return pass.done();
+        }
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                pass.offerText(name);
+                location.add(name);
+                parser.nextToken();
+                boolean done = walk(parser, location, deeper, pass);
+                location.remove(location.size() - 1);
+                if (done) return true;
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                location.add(index++);
+                boolean done = walk(parser, location, deeper, pass);
+                location.remove(location.size() - 1);
+                if (done) return true;
+            }
+        } else if (token == JsonToken.VALUE_STRING) {
+            pass.offerText(parser.getText());
+        }
+        return pass.done();
+    }
+
+    private static boolean treeContains(JsonNode node, String text) {
+        if (node.isTextual()) return node.textValue().contains(text);
+        if (node.isObject()) {
+            var fields = node.fields();
+            while (fields.hasNext()) {
+                var field = fields.next();
+                if (field.getKey().contains(text) || treeContains(field.getValue(), text)) return true;
+            }
+            return false;
+        }
+        for (JsonNode child : node) {
+            if (treeContains(child, text)) return true;
+        }
+        return false;
+    }
+
+    private static boolean indexOf(byte[] haystack, byte[] needle) {
+        if (needle.length == 0) return true;
+        byte first = needle[0];
+        int last = haystack.length - needle.length;
+        outer:
+        for (int i = 0; i <= last; i++) {
+            if (haystack[i] != first) continue;
+            for (int j = 1; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) continue outer;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static String truncate(String text) {
+        return text.length() > PREVIEW_BYTES ? text.substring(0, PREVIEW_BYTES) + "..." : text;
+    }
+
+    // The checks of one verify() pass
+    private static final class Pass {
+        private final List<TextCheck> texts;
+        private final List<PathCheck> paths;
+
+        Pass(List<TextCheck> texts, List<PathCheck> paths) {
+            this.texts = texts;
+            this.paths = paths;
+        }
+
+        void offerText(String text) {
+            for (TextCheck check : texts) {
+                if (!check.found && text.contains(check.text)) check.found = true;
+            }
+        }
+
+        boolean hasPendingText() {
+            return texts.stream().anyMatch(check -> !check.found);
+        }
+
+        boolean done() {
+            return !hasPendingText() && paths.stream().allMatch(check -> check.satisfied);
+        }
+    }
+
+    // Searches the raw bytes for every needle (KMP) as the parser reads them, and keeps a preview
+    private static final class ScanningInputStream extends FilterInputStream {
+        private final List<TextCheck> checks;
+        private final int[] states;
+        private final byte[] head = new byte[PREVIEW_BYTES];
+        private int headLength;
+        private boolean truncated;
+
+        ScanningInputStream(InputStream in, List<TextCheck> checks) {
+            super(in);
+            this.checks = checks;
+            this.states = new int[checks.size()];
+            checks.forEach(check -> check.found |= check.needle.length == 0);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) scan((byte) b);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            for (int i = 0; i < read; i++) {
+                scan(buffer[offset + i]);
+            }
+            return read;
+        }
+
+        void drain() throws IOException {
+            byte[] buffer = new byte[8192];
+            while (read(buffer, 0, buffer.length) >= 0) {
+                // scanned by read
+            }
+        }
+
+        String preview() {
+            String text = new String(head, 0, headLength, StandardCharsets.UTF_8);
+            return truncated ? text + "..." : text;
+        }
+
+        private void scan(byte b) {
+            if (headLength < head.length) head[headLength++] = b;
+            else truncated = true;
+            for (int i = 0; i < states.length; i++) {
+                TextCheck check = checks.get(i);
+                if (check.found) continue;
+                byte[] needle = check.needle;
+                int state = states[i];
+                while (state > 0 && needle[state] != b) state = check.failure[state - 1];
+                if (needle[state] == b) state++;
+                if (state == needle.length) {
+                    check.found = true;
+                }
+                states[i] = state;
+            }
+        }
+    }
+
+    private static final class TextCheck {
+        private final String text;
+        private final byte[] needle;
+        private final int[] failure;
+        private boolean found;
+
+        TextCheck(String text) {
+            this.text = text;
+            this.needle = text.getBytes(StandardCharsets.UTF_8);
+            this.failure = failure(needle);
+        }
+
+        // KMP failure function: longest proper prefix of needle[0..i] that is also a suffix
+        private static int[] failure(byte[] needle) {
+            int[] failure = new int[needle.length];
+            for (int i = 1, k = 0; i < needle.length; i++) {
+                while (k > 0 && needle[i] != needle[k]) k = failure[k - 1];
+                if (needle[i] == needle[k]) k++;
+                failure[i] = k;
+            }
+            return failure;
+        }
+    }
+
+    private static final class PathCheck {
+        private static final int MAX_SAMPLES = 3;
+
+        private final JsonPath path;
+        private final Predicate<JsonNode> predicate;
+        private final String description;
+        private final List<JsonNode> samples = new ArrayList<>();
+        private int matched;
+        private boolean satisfied;
+
+        PathCheck(JsonPath path, Predicate<JsonNode> predicate, String description) {
+            this.path = path;
+            this.predicate = predicate;
+            this.description = description;
+        }
+
+        void offer(JsonNode node) {
+            matched++;
+            if (samples.size() < MAX_SAMPLES) samples.add(node);
+            if (!satisfied && predicate.test(node)) satisfied = true;
+        }
+
+        String failure() {
+            if (matched == 0) {
+                return path + " " + description + ": no value at this path";
+            }
+            return path + " " + description + ": was " + samples + (matched > samples.size() ? " ..." : "");
+        }
+    }
+}
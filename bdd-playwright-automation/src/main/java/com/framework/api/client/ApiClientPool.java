@@ -0,0 +1,190 @@
+package com.framework.api.client;
+
+import com.framework.config.EnvironmentConfig;
+import com.framework.utils.JsonUtil;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.CoreConnectionPNames;
+
+/**
+ * Shared HTTP connection pool and request specification for API clients
+ *
+ * Features:
+ * - One RestAssured RequestSpecification, built once from apiUrl in {@link EnvironmentConfig}
+ *   and rebuilt when a configuration reload changes it
+ * - One pooled, thread-safe HttpClient reused by every request, so connections
+ *   (and their TCP/TLS handshakes) are kept alive between calls
+ * - Connections idle for longer than the keep-alive are closed in the background
+ * - Request and response bodies are mapped by {@link JsonUtil}, not a per-call RestAssured mapper
+ * - The {@link ResponseCache} filter sits in front of the pool when api.cache.mode is set
+ * - Small bodies with a declared length are read on arrival, so status-only checks
+ *   return their connection; larger or chunked bodies stay on the socket for
+ *   streaming consumers and are released once read to the end or via release()
+ *
+ * Configuration:
+ * - api.pool.maxTotal: connections across all routes (default 50)
+ * - api.pool.maxPerRoute: connections per host (default 20)
+ * - api.pool.apiRouteMax: connections to the apiUrl host (default api.pool.maxPerRoute)
+ * - api.keepAlive: keep-alive when the server sends no Keep-Alive header (default 30s)
+ * - api.connectTimeout / api.socketTimeout: default 10s / 30s
+ * - api.buffer.maxBytes: largest declared Content-Length read on arrival (default 65536)
+ *
+ * RestAssured sits on Apache HttpClient 4, which speaks HTTP/1.1 only; reuse
+ * comes from persistent connections rather than HTTP/2 multiplexing.
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+@SuppressWarnings("deprecation") // RestAssured 5 still requires the HttpClient 4.x AbstractHttpClient API
+public class ApiClientPool {
+    private static final Logger LOGGER = Logger.getLogger(ApiClientPool.class.getName());
+
+    private final PoolingClientConnectionManager connectionManager;
+    private final DefaultHttpClient httpClient;
+    private final RestAssuredConfig restAssuredConfig;
+    private final ScheduledExecutorService evictor;
+    private final int bufferMaxBytes;
+    private volatile URI apiUri;
+    private volatile RequestSpecification requestSpec;
+
+    private ApiClientPool() {
+        int maxTotal = EnvironmentConfig.getInt("api.pool.maxTotal", 50);
+        int maxPerRoute = EnvironmentConfig.getInt("api.pool.maxPerRoute", 20);
+        long keepAliveMs = EnvironmentConfig.getDuration("api.keepAlive", Duration.ofSeconds(30)).toMillis();
+        int connectTimeoutMs = (int) EnvironmentConfig.getDuration("api.connectTimeout", Duration.ofSeconds(10)).toMillis();
+        int socketTimeoutMs = (int) EnvironmentConfig.getDuration("api.socketTimeout", Duration.ofSeconds(30)).toMillis();
+        bufferMaxBytes = EnvironmentConfig.getInt("api.buffer.maxBytes", 64 * 1024);
+
+        connectionManager = new PoolingClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+        httpClient = new DefaultHttpClient(connectionManager);
+        // Honour the server's Keep-Alive timeout, capped at ours
+        httpClient.setKeepAliveStrategy((response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMs) : keepAliveMs;
+        });
+
+        // Reusing the instance stops RestAssured from shutting the pool down after each request
+        restAssuredConfig = RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+            .httpClientFactory(() -> httpClient)
+            .reuseHttpClientInstance()
+            .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, connectTimeoutMs)
+            .setParam(CoreConnectionPNames.SO_TIMEOUT, socketTimeoutMs))
+            .objectMapperConfig(ObjectMapperConfig.objectMapperConfig().defaultObjectMapper(JsonUtil.restAssuredMapper()));
+
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "api-connection-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1_000, keepAliveMs / 2);
+        evictor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(keepAliveMs, TimeUnit.MILLISECONDS);
+        }, period, period, TimeUnit.MILLISECONDS);
+
+        applyApiUrl(EnvironmentConfig.getUri("apiUrl"));
+        EnvironmentConfig.addReloadListener(snapshot -> {
+            URI reloaded = EnvironmentConfig.getUri("apiUrl");
+            if (!reloaded.equals(apiUri)) {
+                applyApiUrl(reloaded);
+            }
+        });
+        LOGGER.info("API connection pool: maxTotal=" + maxTotal + ", maxPerRoute=" + maxPerRoute
+                    + ", keepAlive=" + keepAliveMs + "ms");
+    }
+
+    private static final class Holder {
+        private static final ApiClientPool INSTANCE = new ApiClientPool();
+    }
+
+    public static ApiClientPool getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    // Shared and immutable; combine with given().spec(...) per request
+    public RequestSpecification requestSpec() {
+        return requestSpec;
+    }
+
+    public URI getApiUri() {
+        return apiUri;
+    }
+
+    public RestAssuredConfig getRestAssuredConfig() {
+        return restAssuredConfig;
+    }
+
+    // e.g. "[leased: 2; pending: 0; available: 3; max: 50]"
+    public String poolStats() {
+        return connectionManager.getTotalStats().toString();
+    }
+
+    private synchronized void applyApiUrl(URI uri) {
+        int routeMax = EnvironmentConfig.getInt("api.pool.apiRouteMax", connectionManager.getDefaultMaxPerRoute());
+        connectionManager.setMaxPerRoute(route(uri), routeMax);
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+            .setBaseUri(uri.toString())
+            .setConfig(restAssuredConfig);
+        ResponseCache cache = ResponseCache.getInstance();
+        if (cache.getMode() != ResponseCache.Mode.OFF) {
+            builder.addFilter(cache);
+        }
+        requestSpec = builder.addFilter(this::readSmallBody).build();
+        apiUri = uri;
+        LOGGER.info("API base URI: " + uri + " (max " + routeMax + " connections)");
+    }
+
+    // RestAssured reads bodies lazily and a connection stays leased until its body is read.
+    // Small declared bodies are read now, so a status-only check cannot drain the pool;
+    // anything larger or of unknown length is left for the caller to stream or release().
+    private Response readSmallBody(FilterableRequestSpecification request, FilterableResponseSpecification response,
+                                   FilterContext context) {
+        Response result = context.next(request, response);
+        String length = result.getHeader("Content-Length");
+        if (length != null && length.matches("\\d{1,10}") && Long.parseLong(length) <= bufferMaxBytes) {
+            result.asByteArray();
+        }
+        return result;
+    }
+
+    // Reads whatever is left of the body so its connection returns to the pool; use after
+    // status-only checks. Harmless on bodies that were already read.
+    public static void release(Response response) {
+        try (InputStream body = response.asInputStream()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            LOGGER.fine("Releasing response body failed: " + e.getMessage());
+        }
+    }
+
+    // Matches the route HttpClient plans for requests to uri, default ports included
+    private static HttpRoute route(URI uri) {
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() > 0 ? uri.getPort() : (secure ? 443 : 80);
+        return new HttpRoute(new HttpHost(uri.getHost(), port, uri.getScheme()), null, secure);
+    }
+}
@@ -0,0 +1,267 @@
+package com.framework.api.client;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.framework.config.EnvironmentConfig;
+import com.framework.utils.JsonUtil;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Record/replay cache for API responses, installed as a RestAssured filter
+ *
+ * Features:
+ * - record: every GET goes to the service and 2xx responses are stored
+ * - replay: fresh entries (younger than api.cache.ttl) are served without a
+ *   network call; stale entries with an ETag are revalidated with If-None-Match
+ *   (a 304 refreshes and serves the entry); misses fall through to the service
+ *   and are stored
+ * - Content-addressed store under api.cache.dir/&lt;profile&gt;: bodies are saved
+ *   once per SHA-256 of their content, request entries point at them
+ * - Hit, revalidation, miss and bypass counters (stats())
+ *
+ * Only GET requests are cached; other methods always reach the service.
+ * Entries are keyed by method, path and query, not host and port, so a
+ * recording made against the stub server replays against the real service
+ * and vice versa. Replayed responses carry an X-Cache: HIT header.
+ *
+ * Configuration:
+ * - api.cache.mode: off (default), record or replay
+ * - api.cache.dir: cache root (default target/api-cache)
+ * - api.cache.ttl: freshness lifetime of a replayed entry (default 1h)
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public class ResponseCache implements Filter {
+    private static final Logger LOGGER = Logger.getLogger(ResponseCache.class.getName());
+
+    public enum Mode { OFF, RECORD, REPLAY }
+
+    private final Mode mode;
+    private final Path requestsDir;
+    private final Path bodiesDir;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong revalidated = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bypassed = new AtomicLong();
+    private final AtomicLong stored = new AtomicLong();
+
+    ResponseCache(Mode mode, Path root, Duration ttl) {
+        this.mode = mode;
+        this.requestsDir = root.resolve("requests");
+        this.bodiesDir = root.resolve("bodies");
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    private static final class Holder {
+        private static final ResponseCache INSTANCE = new ResponseCache(
+            Mode.valueOf(EnvironmentConfig.get("api.cache.mode", "off").trim().toUpperCase(Locale.ROOT)),
+            Paths.get(EnvironmentConfig.get("api.cache.dir", "target/api-cache"), EnvironmentConfig.profile().getName()),
+            EnvironmentConfig.getDuration("api.cache.ttl", Duration.ofHours(1)));
+    }
+
+    public static ResponseCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification response,
+                           FilterContext context) {
+        if (mode == Mode.OFF || !"GET".equalsIgnoreCase(request.getMethod())) {
+            bypassed.incrementAndGet();
+            return context.next(request, response);
+        }
+        String key = requestKey(request);
+
+        Entry cached = mode == Mode.REPLAY ? lookup(key) : null;
+        if (cached != null) {
+            if (System.currentTimeMillis() - cached.recordedAt < ttlMillis) {
+                hits.incrementAndGet();
+                return cached.toResponse();
+            }
+            if (cached.etag != null) {
+                request.header("If-None-Match", cached.etag);
+            }
+        }
+
+        Response live = context.next(request, response);
+        if (cached != null && live.getStatusCode() == 304) {
+            revalidated.incrementAndGet();
+            Entry refreshed = cached.refreshed(System.currentTimeMillis());
+            store(key, refreshed);
+            return refreshed.toResponse();
+        }
+        misses.incrementAndGet();
+        if (live.getStatusCode() >= 200 && live.getStatusCode() < 300) {
+            store(key, new Entry(live.getStatusCode(), live.getStatusLine(), live.getContentType(),
+                                 live.getHeader("ETag"), System.currentTimeMillis(), live.asByteArray()));
+        }
+        return live;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getRevalidated() {
+        return revalidated.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getBypassed() {
+        return bypassed.get();
+    }
+
+    // Share of cacheable requests answered without transferring a body
+    public double getHitRatio() {
+        long served = hits.get() + revalidated.get();
+        long total = served + misses.get();
+        return total == 0 ? 0 : (double) served / total;
+    }
+
+    public String stats() {
+        return String.format("mode=%s, hits=%d, revalidated=%d, misses=%d, bypassed=%d, stored=%d, hitRatio=%.1f%%",
+                             mode.name().toLowerCase(Locale.ROOT), hits.get(), revalidated.get(), misses.get(),
+                             bypassed.get(), stored.get(), getHitRatio() * 100);
+    }
+
+    // Host and port are left out so recordings move between environments of the same profile
+    static String requestKey(FilterableRequestSpecification request) {
+        URI uri = URI.create(request.getURI());
+        String query = uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery();
+        return sha256((request.getMethod().toUpperCase(Locale.ROOT) + " " + uri.getRawPath() + query)
+                          .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Entry lookup(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            return entry;
+        }
+        Path file = requestsDir.resolve(key + ".json");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            ObjectNode metadata = (ObjectNode) JsonUtil.mapper().readTree(file.toFile());
+            byte[] body = Files.readAllBytes(bodiesDir.resolve(metadata.path("body").asText()));
+            entry = new Entry(metadata.path("status").asInt(), metadata.path("statusLine").asText(null),
+                              metadata.path("contentType").asText(null), metadata.path("etag").asText(null),
+                              metadata.path("recordedAt").asLong(), body);
+            entries.put(key, entry);
+            return entry;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning("Ignoring unreadable cache entry " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void store(String key, Entry entry) {
+        entries.put(key, entry);
+        try {
+            Files.createDirectories(requestsDir);
+            Files.createDirectories(bodiesDir);
+            String bodyHash = sha256(entry.body);
+            Path bodyFile = bodiesDir.resolve(bodyHash);
+            if (!Files.exists(bodyFile)) {
+                writeAtomically(bodyFile, entry.body);
+            }
+            ObjectNode metadata = JsonUtil.mapper().createObjectNode()
+                .put("status", entry.status)
+                .put("statusLine", entry.statusLine)
+                .put("contentType", entry.contentType)
+                .put("etag", entry.etag)
+                .put("recordedAt", entry.recordedAt)
+                .put("body", bodyHash);
+            writeAtomically(requestsDir.resolve(key + ".json"), JsonUtil.toBytes(metadata));
+            stored.incrementAndGet();
+        } catch (IOException e) {
+            LOGGER.warning("Could not persist cache entry " + key + ": " + e.getMessage());
+        }
+    }
+
+    // Concurrent writers of the same key or body never leave a torn file behind
+    private static void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final int status;
+        private final String statusLine;
+        private final String contentType;
+        private final String etag;
+        private final long recordedAt;
+        private final byte[] body;
+
+        Entry(int status, String statusLine, String contentType, String etag, long recordedAt, byte[] body) {
+            this.status = status;
+            this.statusLine = statusLine;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.recordedAt = recordedAt;
+            this.body = body;
+        }
+
+        Entry refreshed(long now) {
+            return new Entry(status, statusLine, contentType, etag, now, body);
+        }
+
+        Response toResponse() {
+            ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(status)
+                .setStatusLine(statusLine == null ? "HTTP/1.1 " + status : statusLine)
+                .setBody(body)
+                .setHeader("X-Cache", "HIT");
+            if (contentType != null && !contentType.isEmpty()) {
+                builder.setContentType(contentType);
+            }
+            if (etag != null) {
+                builder.setHeader("ETag", etag);
+            }
+            return builder.build();
+        }
+    }
+}
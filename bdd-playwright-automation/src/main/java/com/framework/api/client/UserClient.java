@@ -6,17 +6,17 @@ import io.restassured.response.Response;
 import static io.restassured.RestAssured.given;
 
 public class UserClient {
-    private static final String BASE_URL = "https://jsonplaceholder.typicode.com";
+    private final ApiClientPool pool = ApiClientPool.getInstance();
 
     public Response getUser(int userId) {
-        return given().baseUri(BASE_URL)
+        return given().spec(pool.requestSpec())
                 .when().get("/users/" + userId);
     }
 
     public Response createUser(UserRequest request) {
-        return given().baseUri(BASE_URL)
+        return given().spec(pool.requestSpec())
                 .header("Content-Type", "application/json")
                 .body(request)
                 .when().post("/users");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,257 @@
+package com.framework.api.load;
+
+import com.framework.api.client.ApiClientPool;
+import com.framework.api.client.UserClient;
+import com.framework.api.model.UserRequest;
+import io.restassured.response.Response;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Replays API calls concurrently and reports latency and errors per endpoint
+ *
+ * Features:
+ * - Open model: requests start at a fixed arrival rate regardless of how fast
+ *   the service answers; latency is measured from the scheduled start, so a
+ *   slow service is not hidden by the generator falling behind
+ * - Closed model: a fixed number of users issue requests back to back
+ * - Weighted endpoints built from the same client calls the API steps use
+ *   (userEndpoints registers UserClient.getUser and createUser)
+ * - One task per request on virtual threads when the JVM has them (Java 21+),
+ *   otherwise on daemon threads bounded by the run's concurrency (closed model)
+ *   or maxInFlight (open model, default 1000)
+ *
+ * Requests share the ApiClientPool connection pool; for more than
+ * api.pool.maxPerRoute concurrent requests raise api.pool.apiRouteMax, or
+ * the run measures pool waits rather than the service. RestAssured spends
+ * milliseconds of CPU per request, so the generator host's cores also cap
+ * the achievable rate; check the report's throughput against the target.
+ *
+ * Usage:
+ * <pre>
+ * LoadReport smoke = LoadGenerator.closedModel(1, Duration.ofSeconds(5)).maxRequests(2)
+ *     .userEndpoints(new UserClient()).run();
+ * LoadReport load = LoadGenerator.openModel(200, Duration.ofSeconds(30))
+ *     .userEndpoints(new UserClient()).run();
+ * </pre>
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public class LoadGenerator {
+    private static final Logger LOGGER = Logger.getLogger(LoadGenerator.class.getName());
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final double requestsPerSecond;
+    private final int concurrency;
+    private final Duration duration;
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private int totalWeight;
+    private long maxRequests;
+    private int maxInFlight = 1_000;
+
+    private LoadGenerator(double requestsPerSecond, int concurrency, Duration duration) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration must be positive: " + duration);
+        }
+        this.requestsPerSecond = requestsPerSecond;
+        this.concurrency = concurrency;
+        this.duration = duration;
+    }
+
+    public static LoadGenerator openModel(double requestsPerSecond, Duration duration) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("requestsPerSecond must be positive: " + requestsPerSecond);
+        }
+        return new LoadGenerator(requestsPerSecond, 0, duration);
+    }
+
+    public static LoadGenerator closedModel(int concurrency, Duration duration) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be positive: " + concurrency);
+        }
+        return new LoadGenerator(0, concurrency, duration);
+    }
+
+    // Stops after this many requests even if the duration has not elapsed (0 = no limit)
+    public LoadGenerator maxRequests(long maxRequests) {
+        this.maxRequests = maxRequests;
+        return this;
+    }
+
+    // Open model only: arrivals beyond this many outstanding requests are dropped and counted
+    public LoadGenerator maxInFlight(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    public LoadGenerator endpoint(String name, int weight, Supplier<Response> call) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("weight must be positive: " + weight);
+        }
+        if (endpoints.stream().anyMatch(endpoint -> endpoint.name.equals(name))) {
+            throw new IllegalArgumentException("Duplicate endpoint name: " + name);
+        }
+        endpoints.add(new Endpoint(name, weight, call));
+        totalWeight += weight;
+        return this;
+    }
+
+    // GET /users/{id} for ids 1-10 (weight 4) and POST /users (weight 1)
+    public LoadGenerator userEndpoints(UserClient client) {
+        endpoint("GET /users/{id}", 4, () -> client.getUser(ThreadLocalRandom.current().nextInt(1, 11)));
+        endpoint("POST /users", 1, () -> {
+            long n = ThreadLocalRandom.current().nextLong(1_000_000);
+            return client.createUser(new UserRequest("Load User " + n, "load_user_" + n, "load" + n + "@example.com"));
+        });
+        return this;
+    }
+
+    public LoadReport run() {
+        if (endpoints.isEmpty()) {
+            throw new IllegalStateException("No endpoints registered");
+        }
+        List<String> names = new ArrayList<>();
+        endpoints.forEach(endpoint -> names.add(endpoint.name));
+        LoadReport report = new LoadReport(names);
+
+        ExecutorService executor = newWorkerExecutor(concurrency > 0 ? concurrency : maxInFlight);
+        long start = System.nanoTime();
+        try {
+            if (concurrency > 0) {
+                runClosed(executor, start, report);
+            } else {
+                runOpen(executor, start, report);
+            }
+        } finally {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(duration.toMillis() + 60_000, TimeUnit.MILLISECONDS)) {
+                    LOGGER.warning("Load requests still running after the drain timeout; abandoning them");
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        report.finish(System.nanoTime() - start);
+        LOGGER.info("Load run finished: " + report.summary());
+        return report;
+    }
+
+    private void runOpen(ExecutorService executor, long start, LoadReport report) {
+        long intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond));
+        long deadline = start + duration.toNanos();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        for (long i = 0; maxRequests <= 0 || i < maxRequests; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled - deadline >= 0) break;
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+                LockSupport.parkNanos(wait);
+            }
+            if (Thread.currentThread().isInterrupted()) break;
+
+            Endpoint endpoint = pick();
+            if (!inFlight.tryAcquire()) {
+                report.stats(endpoint.name).recordDropped();
+                continue;
+            }
+            executor.execute(() -> {
+                try {
+                    invoke(endpoint, scheduled, report);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void runClosed(ExecutorService executor, long start, LoadReport report) {
+        long deadline = start + duration.toNanos();
+        AtomicLong issued = new AtomicLong();
+        for (int user = 0; user < concurrency; user++) {
+            executor.execute(() -> {
+                while (System.nanoTime() - deadline < 0 && (maxRequests <= 0 || issued.getAndIncrement() < maxRequests)) {
+                    invoke(pick(), System.nanoTime(), report);
+                }
+            });
+        }
+    }
+
+    private static void invoke(Endpoint endpoint, long startNanos, LoadReport report) {
+        LoadReport.EndpointStats stats = report.stats(endpoint.name);
+        try {
+            Response response = endpoint.call.get();
+            stats.record(System.nanoTime() - startNanos, response.getStatusCode());
+            // Only the status is checked, so hand the connection back without waiting for GC
+            ApiClientPool.release(response);
+        } catch (RuntimeException e) {
+            stats.recordFailure(System.nanoTime() - startNanos);
+            LOGGER.fine(endpoint.name + " failed: " + e);
+        }
+    }
+
+    private Endpoint pick() {
+        if (endpoints.size() == 1) {
+            return endpoints.get(0);
+        }
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            ticket -= endpoint.weight;
+            if (ticket < 0) return endpoint;
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    // Virtual threads exist from Java 21; this module compiles for 17, so look them up reflectively.
+    // Platform threads are capped at maxThreads (at most that many tasks are ever outstanding),
+    // created on demand and retired when idle
+    static ExecutorService newWorkerExecutor(int maxThreads) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.fine("Virtual threads unavailable, using up to " + maxThreads + " platform threads: " + e);
+        }
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 30, TimeUnit.SECONDS,
+                                                         new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "api-load-worker-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static final class Endpoint {
+        private final String name;
+        private final int weight;
+        private final Supplier<Response> call;
+
+        Endpoint(String name, int weight, Supplier<Response> call) {
+            this.name = name;
+            this.weight = weight;
+            this.call = call;
+        }
+    }
+}
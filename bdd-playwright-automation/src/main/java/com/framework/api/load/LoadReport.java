@@ -0,0 +1,150 @@
+package com.framework.api.load;
+
+import com.framework.utils.LatencyHistogram;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-endpoint results of a {@link LoadGenerator} run
+ *
+ * Features:
+ * - Latency histogram, request, error and dropped counts per endpoint
+ * - Status code distribution per endpoint
+ * - Aggregate throughput and error rate across endpoints
+ *
+ * An error is a thrown exception or a status outside 2xx/3xx. Dropped requests
+ * (open model only) were due but could not start because maxInFlight requests
+ * were already outstanding; they count towards the error rate.
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public class LoadReport {
+    private final Map<String, EndpointStats> endpoints = new LinkedHashMap<>();
+    private volatile long elapsedNanos;
+
+    LoadReport(Iterable<String> endpointNames) {
+        for (String name : endpointNames) {
+            endpoints.put(name, new EndpointStats());
+        }
+    }
+
+    EndpointStats stats(String endpoint) {
+        return endpoints.get(endpoint);
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public Map<String, EndpointStats> getEndpoints() {
+        return Collections.unmodifiableMap(endpoints);
+    }
+
+    public EndpointStats getEndpoint(String name) {
+        EndpointStats stats = endpoints.get(name);
+        if (stats == null) {
+            throw new IllegalArgumentException("No endpoint named '" + name + "' in this run: " + endpoints.keySet());
+        }
+        return stats;
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / 1e9;
+    }
+
+    public long getTotalRequests() {
+        return endpoints.values().stream().mapToLong(EndpointStats::getRequests).sum();
+    }
+
+    public long getTotalErrors() {
+        return endpoints.values().stream().mapToLong(stats -> stats.getErrors() + stats.getDropped()).sum();
+    }
+
+    // Completed requests per second
+    public double getThroughput() {
+        double seconds = getElapsedSeconds();
+        return seconds == 0 ? 0 : getTotalRequests() / seconds;
+    }
+
+    // Percentage (0-100) of attempted requests that failed or were dropped
+    public double getErrorRate() {
+        long attempted = endpoints.values().stream().mapToLong(stats -> stats.getRequests() + stats.getDropped()).sum();
+        return attempted == 0 ? 0 : getTotalErrors() * 100.0 / attempted;
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder(String.format(
+            "%d requests in %.1fs (%.1f req/s), error rate %.2f%%", getTotalRequests(), getElapsedSeconds(),
+            getThroughput(), getErrorRate()));
+        endpoints.forEach((name, stats) -> summary.append(System.lineSeparator()).append("  ").append(name)
+            .append(": ").append(stats));
+        return summary.toString();
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+
+    /**
+     * Counters for one endpoint; safe to update from many threads
+     */
+    public static final class EndpointStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final Map<Integer, AtomicLong> statusCodes = new ConcurrentHashMap<>();
+
+        void record(long latencyNanos, int statusCode) {
+            latency.recordNanos(latencyNanos);
+            requests.incrementAndGet();
+            statusCodes.computeIfAbsent(statusCode, code -> new AtomicLong()).incrementAndGet();
+            if (statusCode < 200 || statusCode >= 400) {
+                errors.incrementAndGet();
+            }
+        }
+
+        void recordFailure(long latencyNanos) {
+            latency.recordNanos(latencyNanos);
+            requests.incrementAndGet();
+            errors.incrementAndGet();
+        }
+
+        void recordDropped() {
+            dropped.incrementAndGet();
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getRequests() {
+            return requests.get();
+        }
+
+        public long getErrors() {
+            return errors.get();
+        }
+
+        public long getDropped() {
+            return dropped.get();
+        }
+
+        public Map<Integer, Long> getStatusCodes() {
+            Map<Integer, Long> counts = new LinkedHashMap<>();
+            statusCodes.forEach((code, count) -> counts.put(code, count.get()));
+            return counts;
+        }
+
+        @Override
+        public String toString() {
+            return "requests=" + getRequests() + ", errors=" + getErrors() + ", dropped=" + getDropped()
+                   + ", status=" + getStatusCodes() + ", " + latency.summary();
+        }
+    }
+}
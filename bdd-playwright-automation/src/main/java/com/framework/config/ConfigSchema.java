@@ -0,0 +1,197 @@
+package com.framework.config;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Known configuration keys, their types and value parsers
+ *
+ * Every snapshot is validated against this table before it is published:
+ * at startup an invalid value fails class initialisation, on hot reload the
+ * previous snapshot is kept. Keys that are not listed are not validated.
+ *
+ * Duration values accept ISO-8601 (PT30S) or a number with an optional unit
+ * (500ms, 30s, 5m, 1h, 2d); a bare number is milliseconds. Duration keys carry
+ * no unit suffix (api.keepAlive); keys ending in Ms or Seconds are plain numbers
+ * in that unit.
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+final class ConfigSchema {
+
+    enum Type { INT, LONG, BOOLEAN, DURATION, URI, LIST, CHOICE }
+
+    private static final Pattern DURATION = Pattern.compile("(\\d+)\\s*(ms|s|m|h|d)?");
+
+    private static final Map<String, Type> TYPES = new LinkedHashMap<>();
+    private static final Map<String, Set<String>> CHOICES = new LinkedHashMap<>();
+    // Prefix rules, e.g. per-collection read preferences
+    private static final Map<String, Set<String>> PREFIX_CHOICES = new LinkedHashMap<>();
+
+    static {
+        TYPES.put("baseUrl", Type.URI);
+        TYPES.put("apiUrl", Type.URI);
+        TYPES.put("config.watch", Type.BOOLEAN);
+        TYPES.put("demoqa.url", Type.URI);
+        TYPES.put("demoqa.timeout", Type.DURATION);
+        TYPES.put("demoqa.headless", Type.BOOLEAN);
+        TYPES.put("api.keepAlive", Type.DURATION);
+        TYPES.put("api.connectTimeout", Type.DURATION);
+        TYPES.put("api.socketTimeout", Type.DURATION);
+        TYPES.put("api.stub.enabled", Type.BOOLEAN);
+        TYPES.put("api.stub.latency", Type.DURATION);
+        TYPES.put("api.stub.jitter", Type.DURATION);
+        TYPES.put("api.cache.ttl", Type.DURATION);
+        TYPES.put("mongodb.uri", Type.URI);
+        TYPES.put("mongodb.indexAdvisor", Type.BOOLEAN);
+
+        choice("mongodb.pool.profile", "default", "local", "ci-heavy");
+        choice("mongodb.backend", "docker", "memory");
+        choice("mongodb.isolation", "none", "thread");
+        choice("api.cache.mode", "off", "record", "replay");
+        choice("mongodb.read.preference",
+               "primary", "primaryPreferred", "secondary", "secondaryPreferred", "nearest");
+        PREFIX_CHOICES.put("mongodb.read.preference.", CHOICES.get("mongodb.read.preference"));
+
+        for (String key : Arrays.asList("mongodb.pool.minSize", "mongodb.pool.maxSize", "mongodb.clientCache.maxSize",
+                                        "api.pool.maxTotal", "api.pool.maxPerRoute", "api.pool.apiRouteMax", "api.buffer.maxBytes",
+                                        "api.stub.port", "api.stub.threads")) {
+            TYPES.put(key, Type.INT);
+        }
+        for (String key : Arrays.asList("mongodb.pool.maxIdleTime", "mongodb.pool.maxLifeTime",
+                                        "mongodb.heartbeatFrequency", "mongodb.connectTimeout",
+                                        "mongodb.socketTimeout", "mongodb.serverSelectionTimeout",
+                                        "mongodb.readinessTimeout", "mongodb.clientCache.idleTimeout")) {
+            TYPES.put(key, Type.DURATION);
+        }
+        TYPES.put("mongodb.read.maxStalenessSeconds", Type.LONG);
+    }
+
+    private ConfigSchema() {
+    }
+
+    private static void choice(String key, String... values) {
+        TYPES.put(key, Type.CHOICE);
+        Set<String> allowed = new LinkedHashSet<>();
+        for (String value : values) {
+            allowed.add(value.toLowerCase(Locale.ROOT));
+        }
+        CHOICES.put(key, Collections.unmodifiableSet(allowed));
+    }
+
+    // One message per invalid key; empty when the snapshot is valid
+    static List<String> validate(EnvironmentConfig.Snapshot snapshot) {
+        List<String> errors = new ArrayList<>();
+        for (Map.Entry<String, Type> entry : TYPES.entrySet()) {
+            String value = snapshot.get(entry.getKey());
+            if (value == null || value.isBlank()) continue;
+            try {
+                if (entry.getValue() == Type.CHOICE) {
+                    checkChoice(entry.getKey(), value, CHOICES.get(entry.getKey()));
+                } else {
+                    parse(entry.getKey(), value, entry.getValue());
+                }
+            } catch (IllegalStateException e) {
+                errors.add(e.getMessage());
+            }
+        }
+        for (Map.Entry<String, String> entry : snapshot.asMap().entrySet()) {
+            for (Map.Entry<String, Set<String>> rule : PREFIX_CHOICES.entrySet()) {
+                if (entry.getKey().startsWith(rule.getKey())) {
+                    try {
+                        checkChoice(entry.getKey(), entry.getValue(), rule.getValue());
+                    } catch (IllegalStateException e) {
+                        errors.add(e.getMessage());
+                    }
+                }
+            }
+        }
+        return errors;
+    }
+
+    static Object parse(String key, String raw, Type type) {
+        String value = raw.trim();
+        try {
+            switch (type) {
+                case INT:
+                    return Integer.parseInt(value);
+                case LONG:
+                    return Long.parseLong(value);
+                case BOOLEAN:
+                    if ("true".equalsIgnoreCase(value)) return Boolean.TRUE;
+                    if ("false".equalsIgnoreCase(value)) return Boolean.FALSE;
+                    throw invalid(key, raw, "true or false");
+                case DURATION:
+                    return parseDuration(key, value);
+                case URI: {
+                    URI uri = new URI(value);
+                    if (uri.getScheme() == null) {
+                        throw invalid(key, raw, "an absolute URI");
+                    }
+                    return uri;
+                }
+                case LIST: {
+                    List<String> items = new ArrayList<>();
+                    for (String item : value.split(",")) {
+                        if (!item.isBlank()) items.add(item.trim());
+                    }
+                    return Collections.unmodifiableList(items);
+                }
+                default:
+                    return value;
+            }
+        } catch (NumberFormatException e) {
+            throw invalid(key, raw, type == Type.INT ? "an integer" : "a long integer");
+        } catch (URISyntaxException e) {
+            throw invalid(key, raw, "a URI (" + e.getReason() + ")");
+        }
+    }
+
+    private static Duration parseDuration(String key, String value) {
+        if (value.regionMatches(true, 0, "P", 0, 1)) {
+            try {
+                return Duration.parse(value.toUpperCase(Locale.ROOT));
+            } catch (DateTimeParseException e) {
+                throw invalid(key, value, "an ISO-8601 duration");
+            }
+        }
+        Matcher matcher = DURATION.matcher(value.toLowerCase(Locale.ROOT));
+        if (!matcher.matches()) {
+            throw invalid(key, value, "a duration such as 500ms, 30s, 5m or PT30S");
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        String unit = matcher.group(2) == null ? "ms" : matcher.group(2);
+        switch (unit) {
+            case "s": return Duration.ofSeconds(amount);
+            case "m": return Duration.ofMinutes(amount);
+            case "h": return Duration.ofHours(amount);
+            case "d": return Duration.ofDays(amount);
+            default: return Duration.ofMillis(amount);
+        }
+    }
+
+    private static void checkChoice(String key, String value, Set<String> allowed) {
+        if (!allowed.contains(value.trim().toLowerCase(Locale.ROOT))) {
+            throw invalid(key, value, "one of " + allowed);
+        }
+    }
+
+    private static IllegalStateException invalid(String key, String value, String expected) {
+        return new IllegalStateException("Invalid value for config key '" + key + "': '" + value
+                                         + "' (expected " + expected + ")");
+    }
+}
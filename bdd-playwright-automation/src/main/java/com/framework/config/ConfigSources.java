@@ -0,0 +1,130 @@
+package com.framework.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Readers for the individual configuration layers
+ *
+ * - .properties files
+ * - JSON environment files, flattened to dotted keys with Jackson streaming
+ *   ({"api": {"url": "..."}} becomes api.url; scalar arrays become comma-separated values)
+ * - Environment variables, matched by the upper-case underscore form of a key
+ *   (mongodb.pool.maxSize is read from MONGODB_POOL_MAXSIZE)
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+final class ConfigSources {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private ConfigSources() {
+    }
+
+    static Map<String, String> loadProperties(URL url) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = url.openStream();
+             Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            values.put(key, properties.getProperty(key));
+        }
+        return values;
+    }
+
+    static Map<String, String> loadJson(URL url) throws IOException {
+        try (InputStream in = url.openStream()) {
+            return flattenJson(in);
+        }
+    }
+
+    // Single streaming pass; no tree is built
+    static Map<String, String> flattenJson(InputStream in) throws IOException {
+        Map<String, String> values = new LinkedHashMap<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            if (parser.nextToken() == null) {
+                return values;
+            }
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Environment file must contain a JSON object");
+            }
+            Deque<String> path = new ArrayDeque<>();
+            readObject(parser, path, values);
+        }
+        return values;
+    }
+
+    private static void readObject(JsonParser parser, Deque<String> path, Map<String, String> values) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            path.addLast(parser.currentName());
+            readValue(parser, path, values);
+            path.removeLast();
+        }
+    }
+
+    private static void readValue(JsonParser parser, Deque<String> path, Map<String, String> values) throws IOException {
+        JsonToken token = parser.nextToken();
+        String key = String.join(".", path);
+        if (token == JsonToken.START_OBJECT) {
+            readObject(parser, path, values);
+        } else if (token == JsonToken.START_ARRAY) {
+            StringBuilder joined = new StringBuilder();
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == JsonToken.START_OBJECT) {
+                    // Arrays of objects are addressed by index: servers[0].host
+                    String last = path.removeLast();
+                    path.addLast(last + "[" + index + "]");
+                    readObject(parser, path, values);
+                    path.removeLast();
+                    path.addLast(last);
+                } else if (parser.currentToken() == JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                } else {
+                    if (joined.length() > 0) joined.append(',');
+                    joined.append(parser.getValueAsString(""));
+                }
+                index++;
+            }
+            if (joined.length() > 0) {
+                values.put(key, joined.toString());
+            }
+        } else if (token != JsonToken.VALUE_NULL) {
+            values.put(key, parser.getValueAsString());
+        }
+    }
+
+    static String environmentVariableName(String key) {
+        return key.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", "_");
+    }
+
+    // Only resources unpacked on disk can be watched (not ones inside a jar)
+    static Path toPath(URL url) {
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+}
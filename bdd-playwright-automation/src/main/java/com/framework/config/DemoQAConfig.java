@@ -0,0 +1,118 @@
+package com.framework.config;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * DemoQA endpoint and credential settings for the active environment profile
+ *
+ * Features:
+ * - Values come from the demoqa.* keys of testdata/environments/&lt;env&gt;-env.json,
+ *   merged over config.properties by {@link EnvironmentConfig}
+ * - Resolved once per configuration snapshot into plain fields; steps read them
+ *   without parsing or map lookups, and a hot reload swaps in a fresh set
+ * - Credentials come from DEMOQA_CREDENTIALS_USERNAME / DEMOQA_CREDENTIALS_PASSWORD;
+ *   the committed env files leave them blank in every profile
+ *
+ * Usage:
+ * <pre>
+ * page.navigate(DemoQAConfig.loginUrl());
+ * loginPage.login(DemoQAConfig.username(), DemoQAConfig.password());
+ * </pre>
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public final class DemoQAConfig {
+    private static final String DEFAULT_URL = "https://demoqa.com";
+
+    private static volatile Settings settings = new Settings(EnvironmentConfig.snapshot());
+
+    static {
+        EnvironmentConfig.addReloadListener(snapshot -> settings = new Settings(snapshot));
+    }
+
+    private DemoQAConfig() {
+    }
+
+    public static String profile() {
+        return settings.profile;
+    }
+
+    public static URI baseUri() {
+        return settings.baseUri;
+    }
+
+    public static String loginUrl() {
+        return settings.loginUrl;
+    }
+
+    public static String profileUrl() {
+        return settings.profileUrl;
+    }
+
+    public static Duration timeout() {
+        return settings.timeout;
+    }
+
+    public static boolean headless() {
+        return settings.headless;
+    }
+
+    public static String username() {
+        return require(settings.username, "demoqa.credentials.username");
+    }
+
+    public static String password() {
+        return require(settings.password, "demoqa.credentials.password");
+    }
+
+    private static String require(String value, String key) {
+        if (value == null) {
+            throw new IllegalStateException("No value for " + key + " in profile '" + settings.profile + "'; set "
+                                            + ConfigSources.environmentVariableName(key) + " or add it to the env file");
+        }
+        return value;
+    }
+
+    // Immutable set of resolved values for one snapshot
+    private static final class Settings {
+        private final String profile;
+        private final URI baseUri;
+        private final String loginUrl;
+        private final String profileUrl;
+        private final Duration timeout;
+        private final boolean headless;
+        private final String username;
+        private final String password;
+
+        Settings(EnvironmentConfig.Snapshot snapshot) {
+            this.profile = snapshot.getProfile().getName();
+            String url = valueOf(snapshot, "demoqa.url");
+            this.baseUri = URI.create(url == null ? DEFAULT_URL : stripTrailingSlash(url));
+            this.loginUrl = baseUri + path(snapshot, "demoqa.loginPath", "/login");
+            this.profileUrl = baseUri + path(snapshot, "demoqa.profilePath", "/profile");
+            Duration configuredTimeout = snapshot.typed("demoqa.timeout", ConfigSchema.Type.DURATION);
+            this.timeout = configuredTimeout == null ? Duration.ofSeconds(30) : configuredTimeout;
+            Boolean configuredHeadless = snapshot.typed("demoqa.headless", ConfigSchema.Type.BOOLEAN);
+            this.headless = configuredHeadless == null || configuredHeadless;
+            this.username = valueOf(snapshot, "demoqa.credentials.username");
+            this.password = valueOf(snapshot, "demoqa.credentials.password");
+        }
+
+        private static String valueOf(EnvironmentConfig.Snapshot snapshot, String key) {
+            String value = snapshot.get(key);
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+
+        private static String path(EnvironmentConfig.Snapshot snapshot, String key, String defaultPath) {
+            String value = valueOf(snapshot, key);
+            if (value == null) return defaultPath;
+            return value.startsWith("/") ? value : "/" + value;
+        }
+
+        private static String stripTrailingSlash(String url) {
+            return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        }
+    }
+}
@@ -1,22 +1,351 @@
 package com.framework.config;
 
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.Properties;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
 
+/**
+ * Layered, hot-reloading configuration
+ *
+ * Layers, lowest to highest precedence:
+ * - config.properties on the classpath
+ * - the {@link EnvironmentProfile}: testdata/environments/&lt;env&gt;-env.json on the classpath
+ *   (env from -Denv / ENV / config.file / config.properties, default dev; an unknown profile fails fast)
+ * - an optional properties file on disk (-Dconfig.file=path): local overrides of the
+ *   committed files, including the profile
+ * - environment variables (mongodb.pool.maxSize is read from MONGODB_POOL_MAXSIZE)
+ * - system properties
+ *
+ * All layers are merged into an immutable snapshot that readers access with a
+ * single volatile read, so lookups never lock. File-backed layers are watched
+ * with a WatchService (disable with -Dconfig.watch=false) and a changed file
+ * swaps in a new snapshot atomically; a reload that fails keeps the previous
+ * snapshot. System properties set after startup are picked up by reload().
+ *
+ * Typed accessors (getInt, getLong, getBoolean, getDuration, getUri, getList)
+ * parse each key once per snapshot; a reload starts with an empty cache.
+ * Keys known to {@link ConfigSchema} are validated when a snapshot is built,
+ * so a misconfiguration fails at startup rather than mid-run.
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
 public class EnvironmentConfig {
-    private static final Properties properties = new Properties();
+    private static final Logger LOGGER = Logger.getLogger(EnvironmentConfig.class.getName());
+
+    private static final String CONFIG_RESOURCE = "config.properties";
+
+    private static final List<Consumer<Snapshot>> LISTENERS = new CopyOnWriteArrayList<>();
+    private static volatile Snapshot current;
 
     static {
+        current = validated(load(1));
+        if (getBoolean("config.watch", true)) {
+            startWatcher(current.watchedFiles);
+        }
+    }
+
+    public static String get(String key) {
+        return current.get(key);
+    }
+
+    // Falls back to defaultValue when the key is unset or blank
+    public static String get(String key, String defaultValue) {
+        String value = current.get(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        Integer value = current.typed(key, ConfigSchema.Type.INT);
+        return value == null ? defaultValue : value;
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        Long value = current.typed(key, ConfigSchema.Type.LONG);
+        return value == null ? defaultValue : value;
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        Boolean value = current.typed(key, ConfigSchema.Type.BOOLEAN);
+        return value == null ? defaultValue : value;
+    }
+
+    public static Duration getDuration(String key, Duration defaultValue) {
+        Duration value = current.typed(key, ConfigSchema.Type.DURATION);
+        return value == null ? defaultValue : value;
+    }
+
+    // Throws when the key is missing: URIs have no sensible default
+    public static URI getUri(String key) {
+        URI value = current.typed(key, ConfigSchema.Type.URI);
+        if (value == null) {
+            throw new IllegalStateException("Missing required config key '" + key + "'");
+        }
+        return value;
+    }
+
+    // Comma-separated values, trimmed; empty list when unset
+    public static List<String> getList(String key) {
+        List<String> value = current.typed(key, ConfigSchema.Type.LIST);
+        return value == null ? Collections.emptyList() : value;
+    }
+
+    public static EnvironmentProfile profile() {
+        return current.profile;
+    }
+
+    public static Snapshot snapshot() {
+        return current;
+    }
+
+    // Rebuilds every layer; listeners are notified after the new snapshot is visible
+    public static synchronized Snapshot reload() {
+        Snapshot reloaded = validated(load(current.version + 1));
+        current = reloaded;
+        LOGGER.info("Configuration reloaded (version " + reloaded.version + ")");
+        for (Consumer<Snapshot> listener : LISTENERS) {
+            try {
+                listener.accept(reloaded);
+            } catch (RuntimeException e) {
+                LOGGER.warning("Configuration reload listener failed: " + e.getMessage());
+            }
+        }
+        return reloaded;
+    }
+
+    public static void addReloadListener(Consumer<Snapshot> listener) {
+        LISTENERS.add(listener);
+    }
+
+    private static Snapshot validated(Snapshot snapshot) {
+        List<String> errors = ConfigSchema.validate(snapshot);
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Invalid configuration from " + snapshot.sources + ":\n - "
+                                            + String.join("\n - ", errors));
+        }
+        return snapshot;
+    }
+
+    private static Snapshot load(long version) {
+        Map<String, String> values = new LinkedHashMap<>();
+        List<String> sources = new ArrayList<>();
+        List<Path> watched = new ArrayList<>();
+        ClassLoader classLoader = EnvironmentConfig.class.getClassLoader();
+        EnvironmentProfile profile;
+
         try {
-            FileInputStream fis = new FileInputStream("src/main/resources/config.properties");
-            properties.load(fis);
+            URL config = classLoader.getResource(CONFIG_RESOURCE);
+            if (config == null) {
+                throw new IOException(CONFIG_RESOURCE + " not found on the classpath");
+            }
+            values.putAll(ConfigSources.loadProperties(config));
+            sources.add(config.toString());
+            addWatched(watched, ConfigSources.toPath(config));
+
+            // Read before the profile so it can pick the profile, applied after it so it overrides it
+            Map<String, String> externalValues = Collections.emptyMap();
+            Path external = null;
+            String externalFile = layeredValue("config.file", values);
+            if (externalFile != null) {
+                external = Paths.get(externalFile).toAbsolutePath();
+                externalValues = ConfigSources.loadProperties(external.toUri().toURL());
+            }
+
+            Map<String, String> bootstrap = new HashMap<>(values);
+            bootstrap.putAll(externalValues);
+            profile = EnvironmentProfile.resolve(profileName(bootstrap), classLoader);
+            if (profile.getSource() != null) {
+                values.putAll(profile.asMap());
+                sources.add(profile.getSource().toString());
+                addWatched(watched, ConfigSources.toPath(profile.getSource()));
+            }
+
+            if (external != null) {
+                values.putAll(externalValues);
+                sources.add(external.toString());
+                watched.add(external);
+            }
         } catch (IOException e) {
-            throw new RuntimeException("Failed to load config.properties", e);
+            throw new RuntimeException("Failed to load configuration", e);
         }
+
+        Map<String, String> environmentVariables = new HashMap<>();
+        System.getenv().forEach((name, value) -> environmentVariables.put(ConfigSources.environmentVariableName(name), value));
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String override = environmentVariables.get(ConfigSources.environmentVariableName(entry.getKey()));
+            if (override != null) {
+                entry.setValue(override);
+            }
+        }
+        System.getProperties().forEach((key, value) -> values.put(String.valueOf(key), String.valueOf(value)));
+
+        return new Snapshot(version, profile, values, environmentVariables, sources, watched);
     }
 
-    public static String get(String key) {
-        return properties.getProperty(key);
+    // Bootstrap keys (env, config.file) honour system properties and environment variables before the files do
+    private static String layeredValue(String key, Map<String, String> fileValues) {
+        String value = System.getProperty(key);
+        if (value == null) value = System.getenv(ConfigSources.environmentVariableName(key));
+        if (value == null) value = fileValues.get(key);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    // POSIX shells use ENV for an rc file path, so the variable only counts when it looks like a profile name
+    private static String profileName(Map<String, String> fileValues) {
+        String value = System.getProperty("env");
+        if (value == null) {
+            String variable = System.getenv("ENV");
+            if (variable != null && EnvironmentProfile.isValidName(variable)) value = variable;
+        }
+        if (value == null) value = fileValues.get("env");
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static void addWatched(List<Path> watched, Path path) {
+        if (path != null) {
+            watched.add(path);
+        }
+    }
+
+    private static void startWatcher(List<Path> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+        WatchService watchService;
+        Map<Path, Set<Path>> filesByDirectory = new HashMap<>();
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            for (Path file : files) {
+                Path directory = file.getParent();
+                if (directory == null || !Files.isDirectory(directory)) continue;
+                if (!filesByDirectory.containsKey(directory)) {
+                    directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                                       StandardWatchEventKinds.ENTRY_MODIFY);
+                }
+                filesByDirectory.computeIfAbsent(directory, d -> new HashSet<>()).add(file.getFileName());
+            }
+        } catch (IOException e) {
+            LOGGER.warning("Configuration hot reload disabled: " + e.getMessage());
+            return;
+        }
+
+        Thread watcher = new Thread(() -> watch(watchService, filesByDirectory), "environment-config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private static void watch(WatchService watchService, Map<Path, Set<Path>> filesByDirectory) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                do {
+                    Set<Path> names = filesByDirectory.getOrDefault((Path) key.watchable(), Collections.emptySet());
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.context() instanceof Path && names.contains((Path) event.context())) {
+                            changed = true;
+                        }
+                    }
+                    key.reset();
+                    // Editors often write a file in several steps; coalesce them into one reload
+                    Thread.sleep(100);
+                    key = watchService.poll();
+                } while (key != null);
+
+                if (changed) {
+                    try {
+                        reload();
+                    } catch (RuntimeException e) {
+                        LOGGER.warning("Configuration reload failed, keeping version " + current.version
+                                       + ": " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Immutable view of the merged configuration layers
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final EnvironmentProfile profile;
+        private final Map<String, String> values;
+        private final Map<String, String> environmentVariables;
+        private final List<String> sources;
+        private final List<Path> watchedFiles;
+        private final ConcurrentMap<String, Object> parsed = new ConcurrentHashMap<>();
+
+        private Snapshot(long version, EnvironmentProfile profile, Map<String, String> values,
+                         Map<String, String> environmentVariables, List<String> sources, List<Path> watchedFiles) {
+            this.version = version;
+            this.profile = profile;
+            this.values = Collections.unmodifiableMap(new HashMap<>(values));
+            this.environmentVariables = Collections.unmodifiableMap(environmentVariables);
+            this.sources = Collections.unmodifiableList(sources);
+            this.watchedFiles = Collections.unmodifiableList(watchedFiles);
+        }
+
+        // Keys not present in any file can still come from an environment variable
+        public String get(String key) {
+            String value = values.get(key);
+            return value != null ? value : environmentVariables.get(ConfigSources.environmentVariableName(key));
+        }
+
+        // Parse-once cache keyed by type and key; absent keys are not cached
+        @SuppressWarnings("unchecked")
+        <T> T typed(String key, ConfigSchema.Type type) {
+            String cacheKey = type + ":" + key;
+            Object value = parsed.get(cacheKey);
+            if (value == null) {
+                String raw = get(key);
+                if (raw == null || raw.isBlank()) {
+                    return null;
+                }
+                value = parsed.computeIfAbsent(cacheKey, k -> ConfigSchema.parse(key, raw, type));
+            }
+            return (T) value;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public EnvironmentProfile getProfile() {
+            return profile;
+        }
+
+        public Map<String, String> asMap() {
+            return values;
+        }
+
+        public List<String> getSources() {
+            return sources;
+        }
     }
-}
\ No newline at end of file
+}
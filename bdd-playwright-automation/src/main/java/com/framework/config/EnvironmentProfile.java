@@ -0,0 +1,80 @@
+package com.framework.config;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The selected environment profile (dev, prod, ...)
+ *
+ * Features:
+ * - Profile name from -Denv, the ENV variable or env in config.properties (default dev)
+ * - Names are validated: an explicitly selected profile without a
+ *   testdata/environments/&lt;name&gt;-env.json file fails fast instead of silently
+ *   running against the defaults
+ * - The JSON file is parsed once, in a single Jackson streaming pass, into a
+ *   flattened key map ({"demoqa": {"url": ...}} becomes demoqa.url)
+ *
+ * The profile is one layer of {@link EnvironmentConfig}; steps read merged values
+ * from the snapshot (or {@link DemoQAConfig}) rather than from the profile itself.
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public final class EnvironmentProfile {
+    static final String DEFAULT_PROFILE = "dev";
+    private static final String RESOURCE = "testdata/environments/%s-env.json";
+    private static final Pattern VALID_NAME = Pattern.compile("[a-z0-9][a-z0-9_-]*");
+
+    private final String name;
+    private final URL source;
+    private final Map<String, String> values;
+
+    private EnvironmentProfile(String name, URL source, Map<String, String> values) {
+        this.name = name;
+        this.source = source;
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    // requestedName is null when no profile was selected explicitly
+    static EnvironmentProfile resolve(String requestedName, ClassLoader classLoader) throws IOException {
+        String name = requestedName == null ? DEFAULT_PROFILE : requestedName.trim().toLowerCase(Locale.ROOT);
+        if (!isValidName(name)) {
+            throw new IllegalStateException("Invalid environment profile name '" + requestedName + "'");
+        }
+        URL source = classLoader.getResource(String.format(RESOURCE, name));
+        if (source == null) {
+            if (requestedName != null) {
+                throw new IllegalStateException("Unknown environment profile '" + name + "': "
+                                                + String.format(RESOURCE, name) + " not found on the classpath");
+            }
+            return new EnvironmentProfile(name, null, Collections.emptyMap());
+        }
+        return new EnvironmentProfile(name, source, ConfigSources.loadJson(source));
+    }
+
+    static boolean isValidName(String name) {
+        return VALID_NAME.matcher(name.trim().toLowerCase(Locale.ROOT)).matches();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // null when the default profile has no file
+    public URL getSource() {
+        return source;
+    }
+
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
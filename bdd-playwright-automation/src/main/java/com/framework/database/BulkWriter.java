@@ -0,0 +1,258 @@
+package com.framework.database;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Batched, unordered bulk insert pipeline for seeding fixture data
+ *
+ * Features:
+ * - Buffers documents and flushes them as unordered bulkWrite batches
+ * - Bounded number of in-flight batches (producer blocks when full)
+ * - Per-batch latency and overall throughput counters
+ * - Collects write failures and reports them on close
+ *
+ * Usage:
+ * <pre>
+ * try (BulkWriter writer = MongoDBConnection.getInstance().bulkWriter("users")) {
+ *     writer.write(documentStream);
+ * }
+ * </pre>
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public class BulkWriter implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(BulkWriter.class.getName());
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final MongoCollection<Document> collection;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final ExecutorService executor;
+    private final List<Exception> failures = new ArrayList<>();
+
+    private List<WriteModel<Document>> buffer;
+    private boolean closed;
+
+    // Counters
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong insertedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong totalBatchNanos = new AtomicLong();
+    private final AtomicLong maxBatchNanos = new AtomicLong();
+    private final long startNanos = System.nanoTime();
+    // Set once close() has waited for the last batch; null while the writer is open
+    private volatile Long endNanos;
+
+    public BulkWriter(MongoCollection<Document> collection) {
+        this(collection, DEFAULT_BATCH_SIZE, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public BulkWriter(MongoCollection<Document> collection, int batchSize, int maxInFlight) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        this.collection = collection;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.executor = Executors.newFixedThreadPool(maxInFlight, runnable -> {
+            Thread thread = new Thread(runnable, "mongo-bulk-writer-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.buffer = new ArrayList<>(batchSize);
+    }
+
+    public synchronized void add(Document document) {
+        ensureOpen();
+        buffer.add(new InsertOneModel<>(document));
+        if (buffer.size() >= batchSize) {
+            submitBuffer();
+        }
+    }
+
+    public void write(Iterator<Document> documents) {
+        while (documents.hasNext()) {
+            add(documents.next());
+        }
+    }
+
+    public void write(Iterable<Document> documents) {
+        write(documents.iterator());
+    }
+
+    public void write(Stream<Document> documents) {
+        documents.forEachOrdered(this::add);
+    }
+
+    // Submit the partially filled buffer without waiting for completion
+    public synchronized void flush() {
+        ensureOpen();
+        if (!buffer.isEmpty()) {
+            submitBuffer();
+        }
+    }
+
+    // Flush remaining documents and wait for every in-flight batch
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+            if (!buffer.isEmpty()) {
+                submitBuffer();
+            }
+            closed = true;
+        }
+
+        try {
+            inFlight.acquire(maxInFlight);
+            inFlight.release(maxInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for bulk write batches", e);
+        } finally {
+            endNanos = System.nanoTime();
+            executor.shutdown();
+        }
+
+        LOGGER.info("Bulk write to '" + collection.getNamespace() + "' finished: " + getStats());
+
+        synchronized (failures) {
+            if (!failures.isEmpty()) {
+                RuntimeException error = new RuntimeException(
+                    "Bulk write to " + collection.getNamespace() + " failed for "
+                        + failedCount.get() + " documents in " + failures.size() + " batches",
+                    failures.get(0));
+                failures.stream().skip(1).forEach(error::addSuppressed);
+                throw error;
+            }
+        }
+    }
+
+    // Elapsed time runs until close() finished waiting, or until now while the writer is still open
+    public Stats getStats() {
+        Long end = endNanos;
+        return new Stats(batchCount.get(), insertedCount.get(), failedCount.get(),
+                         totalBatchNanos.get(), maxBatchNanos.get(), (end != null ? end : System.nanoTime()) - startNanos);
+    }
+
+    private void submitBuffer() {
+        List<WriteModel<Document>> batch = buffer;
+        buffer = new ArrayList<>(batchSize);
+
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for bulk write capacity", e);
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    writeBatch(batch);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void writeBatch(List<WriteModel<Document>> batch) {
+        long start = System.nanoTime();
+        try {
+            BulkWriteResult result = collection.bulkWrite(batch, UNORDERED);
+            insertedCount.addAndGet(result.getInsertedCount());
+        } catch (MongoBulkWriteException e) {
+            insertedCount.addAndGet(e.getWriteResult().getInsertedCount());
+            failedCount.addAndGet(e.getWriteErrors().size());
+            recordFailure(e);
+        } catch (Exception e) {
+            failedCount.addAndGet(batch.size());
+            recordFailure(e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            batchCount.incrementAndGet();
+            totalBatchNanos.addAndGet(elapsed);
+            maxBatchNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    private void recordFailure(Exception e) {
+        LOGGER.warning("Bulk write batch to '" + collection.getNamespace() + "' failed: " + e.getMessage());
+        synchronized (failures) {
+            failures.add(e);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("BulkWriter already closed");
+        }
+    }
+
+    /**
+     * Snapshot of bulk write counters
+     */
+    public static class Stats {
+        private final long batches;
+        private final long inserted;
+        private final long failed;
+        private final long totalBatchNanos;
+        private final long maxBatchNanos;
+        private final long elapsedNanos;
+
+        Stats(long batches, long inserted, long failed, long totalBatchNanos, long maxBatchNanos, long elapsedNanos) {
+            this.batches = batches;
+            this.inserted = inserted;
+            this.failed = failed;
+            this.totalBatchNanos = totalBatchNanos;
+            this.maxBatchNanos = maxBatchNanos;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getBatches() { return batches; }
+        public long getInserted() { return inserted; }
+        public long getFailed() { return failed; }
+        public double getAvgBatchLatencyMs() { return batches == 0 ? 0 : totalBatchNanos / 1e6 / batches; }
+        public double getMaxBatchLatencyMs() { return maxBatchNanos / 1e6; }
+        public double getElapsedMs() { return elapsedNanos / 1e6; }
+        public double getDocumentsPerSecond() { return elapsedNanos == 0 ? 0 : inserted * 1e9 / elapsedNanos; }
+
+        @Override
+        public String toString() {
+            return String.format("batches=%d, inserted=%d, failed=%d, avgBatch=%.1fms, maxBatch=%.1fms, throughput=%.0f docs/s",
+                                 batches, inserted, failed, getAvgBatchLatencyMs(), getMaxBatchLatencyMs(),
+                                 getDocumentsPerSecond());
+        }
+    }
+}
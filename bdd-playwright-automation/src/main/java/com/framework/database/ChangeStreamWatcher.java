@@ -0,0 +1,152 @@
+package com.framework.database;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * Push-based "wait until a matching document is written" built on change streams
+ *
+ * Features:
+ * - Filter is evaluated server-side against insert/update/replace events (fullDocument lookup)
+ * - Stream is opened before the existing-data check, so writes racing the call are never missed
+ * - Asynchronous variant returns once the stream is open, for callers that trigger the write themselves
+ * - Falls back to backoff polling when change streams are unavailable
+ *   (standalone server, in-memory backend)
+ *
+ * Usage:
+ * ChangeStreamWatcher watcher = new ChangeStreamWatcher(collection);
+ * CompletableFuture<Optional<Document>> paid = watcher.watchFor(Filters.eq("status", "PAID"), Duration.ofSeconds(5));
+ * triggerPayment();
+ * assertTrue(paid.join().isPresent());
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public class ChangeStreamWatcher {
+    private static final Logger LOGGER = Logger.getLogger(ChangeStreamWatcher.class.getName());
+
+    // Change streams require a replica set or sharded cluster
+    private static final int CHANGE_STREAM_NOT_SUPPORTED = 40573;
+
+    // Upper bound on each server-side getMore wait, so the deadline is honoured promptly
+    private static final Duration MAX_AWAIT = Duration.ofMillis(500);
+
+    private static final Executor WATCH_EXECUTOR = runnable -> {
+        Thread thread = new Thread(runnable, "mongodb-change-stream");
+        thread.setDaemon(true);
+        thread.start();
+    };
+
+    private final MongoCollection<Document> collection;
+
+    public ChangeStreamWatcher(MongoCollection<Document> collection) {
+        this.collection = collection;
+    }
+
+    // Blocks until a document matching filter exists or the timeout elapses
+    public Optional<Document> awaitDocument(Bson filter, Duration timeout) {
+        return watchFor(filter, timeout).join();
+    }
+
+    // The stream is open when this returns; writes made afterwards are guaranteed to be observed
+    public CompletableFuture<Optional<Document>> watchFor(Bson filter, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = openStream(filter, timeout);
+        if (cursor == null) {
+            return CompletableFuture.supplyAsync(() -> poll(filter, timeout), WATCH_EXECUTOR);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> events = cursor) {
+                Document existing = collection.find(filter).first();
+                if (existing != null) {
+                    return Optional.of(existing);
+                }
+                while (System.nanoTime() < deadline) {
+                    ChangeStreamDocument<Document> event = events.tryNext();
+                    if (event != null && event.getFullDocument() != null) {
+                        return Optional.of(event.getFullDocument());
+                    }
+                }
+                return Optional.empty();
+            }
+        }, WATCH_EXECUTOR);
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> openStream(Bson filter, Duration timeout) {
+        BsonDocument match = toChangeEventFilter(filter.toBsonDocument(BsonDocument.class, collection.getCodecRegistry()));
+        match.put("operationType", new BsonDocument("$in", new BsonArray(Arrays.asList(
+            new BsonString("insert"), new BsonString("update"), new BsonString("replace")))));
+        try {
+            return collection.watch(Collections.singletonList(new BsonDocument("$match", match)))
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(Math.max(1, Math.min(timeout.toMillis(), MAX_AWAIT.toMillis())), TimeUnit.MILLISECONDS)
+                .cursor();
+        } catch (MongoCommandException e) {
+            if (e.getErrorCode() != CHANGE_STREAM_NOT_SUPPORTED) {
+                throw e;
+            }
+            LOGGER.fine("Change streams not supported by this deployment, polling instead: " + e.getErrorMessage());
+            return null;
+        } catch (UnsupportedOperationException e) {
+            LOGGER.fine("Change streams not supported by this backend, polling instead: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private Optional<Document> poll(Bson filter, Duration timeout) {
+        AtomicReference<Document> found = new AtomicReference<>();
+        try {
+            new ReadinessProbe("Document in " + collection.getNamespace().getCollectionName(), timeout)
+                .await(() -> {
+                    found.set(collection.find(filter).first());
+                    return found.get() != null;
+                });
+        } catch (ReadinessProbe.TimeoutException e) {
+            // The deadline passed without a match; if the last query threw, it was still failing and that is an error
+            if (e.getCause() != null) {
+                throw e;
+            }
+            LOGGER.fine(e.getMessage());
+        }
+        return Optional.ofNullable(found.get());
+    }
+
+    // Prefixes field paths with "fullDocument."; recurses into $and/$or/$nor ($expr field references are not rewritten)
+    static BsonDocument toChangeEventFilter(BsonDocument filter) {
+        BsonDocument rewritten = new BsonDocument();
+        for (Map.Entry<String, BsonValue> entry : filter.entrySet()) {
+            String key = entry.getKey();
+            if ("$and".equals(key) || "$or".equals(key) || "$nor".equals(key)) {
+                BsonArray clauses = new BsonArray();
+                for (BsonValue clause : entry.getValue().asArray()) {
+                    clauses.add(toChangeEventFilter(clause.asDocument()));
+                }
+                rewritten.put(key, clauses);
+            } else if (key.startsWith("$")) {
+                rewritten.put(key, entry.getValue());
+            } else {
+                rewritten.put("fullDocument." + key, entry.getValue());
+            }
+        }
+        return rewritten;
+    }
+}
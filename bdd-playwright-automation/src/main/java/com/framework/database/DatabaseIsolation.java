@@ -0,0 +1,105 @@
+package com.framework.database;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Per-thread ephemeral databases for parallel scenario execution
+ *
+ * Each worker thread lazily receives its own database named
+ * {@code <base>_w<threadId>_<sequence>}. Releasing a scope drops the
+ * database on a background thread so the next scenario is not delayed.
+ *
+ * Enabled with {@code -Dmongodb.isolation=thread}.
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public class DatabaseIsolation {
+    private static final Logger LOGGER = Logger.getLogger(DatabaseIsolation.class.getName());
+
+    private final MongoClient mongoClient;
+    private final String baseName;
+    private final ThreadLocal<MongoDatabase> current = new ThreadLocal<>();
+    private final Set<String> active = ConcurrentHashMap.newKeySet();
+    private final Set<CompletableFuture<Void>> pendingDrops = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService dropExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mongodb-isolation-drop");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DatabaseIsolation(MongoClient mongoClient, String baseName) {
+        this.mongoClient = mongoClient;
+        this.baseName = baseName;
+    }
+
+    // Database owned by the calling thread, created on first use
+    public MongoDatabase currentDatabase() {
+        MongoDatabase database = current.get();
+        if (database == null) {
+            String name = baseName + "_w" + Thread.currentThread().getId() + "_" + sequence.incrementAndGet();
+            database = mongoClient.getDatabase(name);
+            active.add(name);
+            current.set(database);
+            LOGGER.fine("Created isolated database " + name + " for thread " + Thread.currentThread().getName());
+        }
+        return database;
+    }
+
+    public boolean hasCurrentDatabase() {
+        return current.get() != null;
+    }
+
+    // Detach the calling thread's database and drop it asynchronously
+    public CompletableFuture<Void> releaseCurrent() {
+        MongoDatabase database = current.get();
+        if (database == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        current.remove();
+        return drop(database.getName());
+    }
+
+    // Drop every database still owned by a thread and wait for outstanding drops
+    public void shutdown() {
+        List<CompletableFuture<Void>> drops = new ArrayList<>(pendingDrops);
+        for (String name : new ArrayList<>(active)) {
+            drops.add(drop(name));
+        }
+        try {
+            CompletableFuture.allOf(drops.toArray(new CompletableFuture<?>[0])).join();
+        } catch (Exception e) {
+            LOGGER.warning("Failed to drop isolated databases: " + e.getMessage());
+        } finally {
+            dropExecutor.shutdown();
+        }
+    }
+
+    private CompletableFuture<Void> drop(String name) {
+        if (!active.remove(name)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+            try {
+                mongoClient.getDatabase(name).drop();
+                LOGGER.fine("Dropped isolated database " + name);
+            } catch (Exception e) {
+                LOGGER.warning("Failed to drop isolated database " + name + ": " + e.getMessage());
+            }
+        }, dropExecutor);
+        pendingDrops.add(future);
+        future.whenComplete((ignored, error) -> pendingDrops.remove(future));
+        return future;
+    }
+}
@@ -0,0 +1,128 @@
+package com.framework.database;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.RenameCollectionOptions;
+import org.bson.Document;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Server-side snapshot and restore of seeded fixture databases
+ *
+ * A snapshot copies every collection of a seeded database into a template
+ * database ({@code <base>_snapshot_<name>}) with an {@code $out} stage, then
+ * recreates its secondary indexes. Restoring copies the template back the same
+ * way: each collection is written to a staging collection
+ * ({@code <name>.__staging}), given its indexes, and then renamed over the
+ * target with {@code dropTarget}, so readers see either the old or the new
+ * collection, never an empty one. Collections are swapped one at a time, so
+ * the database as a whole is not restored atomically. No documents pass
+ * through the test JVM, so large fixtures restore in milliseconds instead of
+ * being re-inserted for every scenario.
+ *
+ * Requires MongoDB 4.4+ (cross-database {@code $out}).
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public class FixtureSnapshots {
+    private static final Logger LOGGER = Logger.getLogger(FixtureSnapshots.class.getName());
+    private static final String STAGING_SUFFIX = ".__staging";
+
+    private final MongoClient mongoClient;
+    private final String baseName;
+
+    public FixtureSnapshots(MongoClient mongoClient, String baseName) {
+        this.mongoClient = mongoClient;
+        this.baseName = baseName;
+    }
+
+    public String templateName(String snapshotName) {
+        return baseName + "_snapshot_" + snapshotName;
+    }
+
+    // Capture every collection of source into the named template, replacing any previous snapshot
+    public void snapshot(String snapshotName, MongoDatabase source) {
+        long start = System.currentTimeMillis();
+        MongoDatabase template = mongoClient.getDatabase(templateName(snapshotName));
+        template.drop();
+
+        List<String> collections = userCollections(source);
+        for (String collection : collections) {
+            copyCollection(source, template, collection);
+        }
+        LOGGER.info("Snapshot '" + snapshotName + "' captured " + collections.size() + " collections from "
+                    + source.getName() + " in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    // Replace the contents of target with the named snapshot; collections not in the snapshot are dropped
+    public void restore(String snapshotName, MongoDatabase target) {
+        if (!exists(snapshotName)) {
+            throw new IllegalStateException("Snapshot '" + snapshotName + "' does not exist");
+        }
+        long start = System.currentTimeMillis();
+        MongoDatabase template = mongoClient.getDatabase(templateName(snapshotName));
+        List<String> collections = userCollections(template);
+
+        for (String existing : userCollections(target)) {
+            if (!collections.contains(existing)) {
+                target.getCollection(existing).drop();
+            }
+        }
+        for (String collection : collections) {
+            copyCollection(template, target, collection);
+        }
+        LOGGER.info("Snapshot '" + snapshotName + "' restored into " + target.getName() + " ("
+                    + collections.size() + " collections) in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    public boolean exists(String snapshotName) {
+        String name = templateName(snapshotName);
+        return mongoClient.listDatabaseNames().into(new ArrayList<>()).contains(name);
+    }
+
+    public void drop(String snapshotName) {
+        mongoClient.getDatabase(templateName(snapshotName)).drop();
+    }
+
+    // $out into a fresh staging collection, index it, then rename it over the target in one step
+    private void copyCollection(MongoDatabase from, MongoDatabase to, String collection) {
+        String staging = collection + STAGING_SUFFIX;
+        to.getCollection(staging).drop();
+        from.getCollection(collection)
+            .aggregate(Collections.singletonList(Aggregates.out(to.getName(), staging)))
+            .toCollection();
+        copyIndexes(from, to, collection, staging);
+        to.getCollection(staging).renameCollection(new MongoNamespace(to.getName(), collection),
+                                                   new RenameCollectionOptions().dropTarget(true));
+    }
+
+    private void copyIndexes(MongoDatabase from, MongoDatabase to, String collection, String targetCollection) {
+        List<Document> indexes = new ArrayList<>();
+        for (Document index : from.getCollection(collection).listIndexes()) {
+            if ("_id_".equals(index.getString("name"))) continue;
+            index.remove("v");
+            index.remove("ns");
+            indexes.add(index);
+        }
+        if (!indexes.isEmpty()) {
+            to.runCommand(new Document("createIndexes", targetCollection).append("indexes", indexes));
+        }
+    }
+
+    private static List<String> userCollections(MongoDatabase database) {
+        List<String> names = new ArrayList<>();
+        for (String name : database.listCollectionNames()) {
+            // Staging collections left behind by an interrupted copy are not fixtures
+            if (!name.startsWith("system.") && !name.endsWith(STAGING_SUFFIX)) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+}
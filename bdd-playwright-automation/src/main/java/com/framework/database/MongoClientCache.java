@@ -0,0 +1,233 @@
+package com.framework.database;
+
+import com.framework.config.EnvironmentConfig;
+import com.framework.database.memory.InMemoryMongoClient;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Bounded, reference-counted cache of MongoClients keyed by connection string
+ *
+ * Features:
+ * - One client (and connection pool) per cluster, shared by every caller in the JVM
+ * - Leases: acquire() increments a reference count, Lease.close() releases it
+ * - Idle clients (no leases for mongodb.clientCache.idleTimeout, default 5m) are
+ *   closed in the background
+ * - At most mongodb.clientCache.maxSize clients (default 4); the least recently used
+ *   idle client is evicted to make room
+ * - The main mongodb.uri maps to the MongoDBConnection singleton's client; its leases
+ *   never close it and it is not counted against maxSize
+ * - In-memory backend: one store per connection string, kept across eviction, so leases
+ *   on the same URI see the same data
+ * - All clients share the MongoMetrics listeners and codec registry of MongoDBConnection
+ *
+ * Usage:
+ * <pre>
+ * try (MongoClientCache.Lease qa = MongoDBConnection.connect(qaUri);
+ *      MongoClientCache.Lease staging = MongoDBConnection.connect(stagingUri)) {
+ *     compare(qa.getDatabase("testdb"), staging.getDatabase("testdb"));
+ * }
+ * </pre>
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public class MongoClientCache {
+    private static final Logger LOGGER = Logger.getLogger(MongoClientCache.class.getName());
+    
+    // In-memory clients hold their data, so the same URI must always get the same one back
+    private static final Map<String, MongoClient> MEMORY_STORES = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+    private final long idleTimeoutMs;
+    // Access-ordered: iteration starts at the least recently acquired client
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ScheduledExecutorService evictor;
+    // Lazily bound to the singleton's client; lives outside entries so it is never evicted or closed here
+    private Entry mainEntry;
+
+    MongoClientCache(int maxSize, long idleTimeoutMs) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mongo-client-cache-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1_000, idleTimeoutMs / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private static final class Holder {
+        private static final MongoClientCache INSTANCE = new MongoClientCache(
+            EnvironmentConfig.getInt("mongodb.clientCache.maxSize", 4),
+            EnvironmentConfig.getDuration("mongodb.clientCache.idleTimeout", Duration.ofMinutes(5)).toMillis());
+    }
+
+    public static MongoClientCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public Lease acquire(String uri) {
+        if (MongoDBConnection.isMainUri(uri)) {
+            return acquireMain(uri);
+        }
+        Entry evicted = null;
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(uri);
+            if (entry == null) {
+                if (entries.size() >= maxSize) {
+                    evicted = removeLeastRecentlyUsedIdle();
+                    if (evicted == null) {
+                        throw new IllegalStateException("MongoClient cache is full (" + maxSize
+                                                        + " clients, all leased); raise mongodb.clientCache.maxSize");
+                    }
+                }
+                entry = new Entry(uri, createClient(uri));
+                entries.put(uri, entry);
+            }
+            entry.references++;
+        }
+        if (evicted != null) {
+            evicted.close("evicted to make room");
+        }
+        return new Lease(entry);
+    }
+
+    private Lease acquireMain(String uri) {
+        // Resolve the singleton outside the lock; its construction does not touch this cache
+        MongoClient client = MongoDBConnection.getInstance().client();
+        synchronized (this) {
+            if (mainEntry == null) {
+                mainEntry = new Entry(uri, client);
+            }
+            mainEntry.references++;
+            return new Lease(mainEntry);
+        }
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized boolean isCached(String uri) {
+        return entries.containsKey(uri);
+    }
+
+    public synchronized int references(String uri) {
+        Entry entry = mainEntry != null && mainEntry.uri.equals(uri) ? mainEntry : entries.get(uri);
+        return entry == null ? 0 : entry.references;
+    }
+
+    // Closes every cached client regardless of outstanding leases; the main client is left to MongoDBConnection
+    public void closeAll() {
+        List<Entry> closing;
+        synchronized (this) {
+            closing = new ArrayList<>(entries.values());
+            entries.clear();
+        }
+        closing.forEach(entry -> entry.close("cache closed"));
+    }
+
+    void evictIdle() {
+        List<Entry> idle = new ArrayList<>();
+        long now = System.nanoTime();
+        synchronized (this) {
+            entries.values().removeIf(entry -> {
+                boolean expired = entry.references == 0
+                    && TimeUnit.NANOSECONDS.toMillis(now - entry.idleSince) >= idleTimeoutMs;
+                if (expired) idle.add(entry);
+                return expired;
+            });
+        }
+        idle.forEach(entry -> entry.close("idle for over " + idleTimeoutMs + "ms"));
+    }
+
+    private Entry removeLeastRecentlyUsedIdle() {
+        for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+            if (candidate.getValue().references == 0) {
+                entries.remove(candidate.getKey());
+                return candidate.getValue();
+            }
+        }
+        return null;
+    }
+
+    private synchronized void release(Entry entry) {
+        entry.references--;
+        if (entry.references == 0) {
+            entry.idleSince = System.nanoTime();
+        }
+    }
+
+    private static MongoClient createClient(String uri) {
+        LOGGER.info("Creating cached MongoClient for " + MongoDBConnection.maskConnectionString(uri));
+        if (MongoDBConnection.isInMemoryBackend()) {
+            return MEMORY_STORES.computeIfAbsent(uri, key -> InMemoryMongoClient.create(MongoDBConnection.codecRegistry()));
+        }
+        return MongoClients.create(MongoDBConnection.buildClientSettings(uri));
+    }
+
+    private static final class Entry {
+        private final String uri;
+        private final MongoClient client;
+        private int references;
+        private long idleSince = System.nanoTime();
+
+        Entry(String uri, MongoClient client) {
+            this.uri = uri;
+            this.client = client;
+        }
+
+        void close(String reason) {
+            LOGGER.info("Closing cached MongoClient for " + MongoDBConnection.maskConnectionString(uri) + ": " + reason);
+            client.close();
+        }
+    }
+
+    /**
+     * A counted reference to a cached client; close it to release the reference
+     */
+    public final class Lease implements AutoCloseable {
+        private final Entry entry;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        public MongoClient getClient() {
+            if (released.get()) {
+                throw new IllegalStateException("Lease already released");
+            }
+            return entry.client;
+        }
+
+        public MongoDatabase getDatabase(String databaseName) {
+            return getClient().getDatabase(databaseName);
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                release(entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.framework.database;
+
+import com.framework.utils.LatencyHistogram;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Connection pool and command latency instrumentation for MongoDB clients
+ *
+ * Features:
+ * - Checkout wait time histogram and checkout failure count
+ * - Pool utilisation (connections open, checked out, peak checked out)
+ * - Per-command latency histograms (p50/p95/p99) and failure counts
+ * - Text report for logs and Allure attachments
+ * - Snapshots whose difference gives the commands issued between two points,
+ *   e.g. one scenario (commands from concurrently running scenarios are included)
+ *
+ * Registered on every client built by {@link MongoDBConnection#buildClientSettings()}.
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public class MongoMetrics implements ConnectionPoolListener, CommandListener {
+    private static final Logger LOGGER = Logger.getLogger(MongoMetrics.class.getName());
+    private static final MongoMetrics INSTANCE = new MongoMetrics();
+
+    // Pool
+    private final LatencyHistogram checkoutWait = new LatencyHistogram();
+    private final AtomicLong checkoutFailures = new AtomicLong();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicInteger checkedOut = new AtomicInteger();
+    private final AtomicInteger peakCheckedOut = new AtomicInteger();
+    private final AtomicInteger configuredMaxSize = new AtomicInteger();
+
+    // Commands
+    private final Map<String, LatencyHistogram> commandLatency = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> commandFailures = new ConcurrentHashMap<>();
+
+    public static MongoMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    // ConnectionPoolListener
+    @Override
+    public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+        configuredMaxSize.addAndGet(event.getSettings().getMaxSize());
+    }
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        openConnections.incrementAndGet();
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        openConnections.decrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        checkoutWait.recordNanos(event.getElapsedTime(TimeUnit.NANOSECONDS));
+        peakCheckedOut.accumulateAndGet(checkedOut.incrementAndGet(), Math::max);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        checkoutWait.recordNanos(event.getElapsedTime(TimeUnit.NANOSECONDS));
+        checkoutFailures.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        checkedOut.decrementAndGet();
+    }
+
+    // CommandListener
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        latencyFor(event.getCommandName()).recordNanos(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        latencyFor(event.getCommandName()).recordNanos(event.getElapsedTime(TimeUnit.NANOSECONDS));
+        commandFailures.computeIfAbsent(event.getCommandName(), name -> new AtomicLong()).incrementAndGet();
+    }
+
+    public LatencyHistogram getCheckoutWait() {
+        return checkoutWait;
+    }
+
+    public LatencyHistogram getCommandLatency(String commandName) {
+        return latencyFor(commandName);
+    }
+
+    public int getPeakCheckedOut() {
+        return peakCheckedOut.get();
+    }
+
+    // Copy of the checkout and command counters; pool gauges are not part of a snapshot
+    public Snapshot snapshot() {
+        Map<String, LatencyHistogram> commands = new TreeMap<>();
+        commandLatency.forEach((name, histogram) -> commands.put(name, histogram.copy()));
+        Map<String, Long> failures = new TreeMap<>();
+        commandFailures.forEach((name, count) -> failures.put(name, count.get()));
+        return new Snapshot(checkoutWait.copy(), checkoutFailures.get(), commands, failures);
+    }
+
+    public void reset() {
+        checkoutWait.reset();
+        checkoutFailures.set(0);
+        peakCheckedOut.set(checkedOut.get());
+        commandLatency.clear();
+        commandFailures.clear();
+    }
+
+    public String report() {
+        StringBuilder report = new StringBuilder("MongoDB client metrics\n");
+        int maxSize = configuredMaxSize.get();
+        report.append(String.format("Pool: open=%d, checkedOut=%d, peakCheckedOut=%d, maxSize=%d, peakUtilisation=%.0f%%%n",
+                                    openConnections.get(), checkedOut.get(), peakCheckedOut.get(), maxSize,
+                                    maxSize == 0 ? 0.0 : peakCheckedOut.get() * 100.0 / maxSize));
+        report.append("Checkout wait: ").append(checkoutWait.summary())
+              .append(", failures=").append(checkoutFailures.get()).append('\n');
+        report.append("Commands:\n");
+        new TreeMap<>(commandLatency).forEach((name, histogram) -> {
+            AtomicLong failures = commandFailures.get(name);
+            report.append(String.format("  %-16s %s, failures=%d%n", name, histogram.summary(),
+                                        failures == null ? 0 : failures.get()));
+        });
+        return report.toString();
+    }
+
+    public void writeReport(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, report().getBytes(StandardCharsets.UTF_8));
+            LOGGER.info("MongoDB metrics written to " + file);
+        } catch (IOException e) {
+            LOGGER.warning("Failed to write MongoDB metrics to " + file + ": " + e.getMessage());
+        }
+    }
+
+    private LatencyHistogram latencyFor(String commandName) {
+        return commandLatency.computeIfAbsent(commandName, name -> new LatencyHistogram());
+    }
+
+    /**
+     * Checkout and command counters at one point in time, or the difference of two
+     */
+    public static final class Snapshot {
+        private final LatencyHistogram checkoutWait;
+        private final long checkoutFailures;
+        private final Map<String, LatencyHistogram> commands;
+        private final Map<String, Long> failures;
+
+        private Snapshot(LatencyHistogram checkoutWait, long checkoutFailures, Map<String, LatencyHistogram> commands,
+                         Map<String, Long> failures) {
+            this.checkoutWait = checkoutWait;
+            this.checkoutFailures = checkoutFailures;
+            this.commands = commands;
+            this.failures = failures;
+        }
+
+        // What was recorded after earlier; commands with no new calls are left out
+        public Snapshot since(Snapshot earlier) {
+            Map<String, LatencyHistogram> commandDelta = new TreeMap<>();
+            Map<String, Long> failureDelta = new TreeMap<>();
+            commands.forEach((name, histogram) -> {
+                LatencyHistogram before = earlier.commands.get(name);
+                LatencyHistogram delta = before == null ? histogram.copy() : histogram.since(before);
+                if (delta.getCount() > 0) {
+                    commandDelta.put(name, delta);
+                    failureDelta.put(name, failures.getOrDefault(name, 0L) - earlier.failures.getOrDefault(name, 0L));
+                }
+            });
+            return new Snapshot(checkoutWait.since(earlier.checkoutWait), checkoutFailures - earlier.checkoutFailures,
+                                commandDelta, failureDelta);
+        }
+
+        public long getCommandCount() {
+            return commands.values().stream().mapToLong(LatencyHistogram::getCount).sum();
+        }
+
+        public LatencyHistogram getCommandLatency(String commandName) {
+            return commands.getOrDefault(commandName, new LatencyHistogram());
+        }
+
+        public String report() {
+            StringBuilder report = new StringBuilder("MongoDB commands: ").append(getCommandCount()).append('\n');
+            report.append("Checkout wait: ").append(checkoutWait.summary())
+                  .append(", failures=").append(checkoutFailures).append('\n');
+            commands.forEach((name, histogram) -> report.append(String.format("  %-16s %s, failures=%d%n", name,
+                histogram.summary(), failures.getOrDefault(name, 0L))));
+            return report.toString();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.framework.database;
+
+import com.framework.config.EnvironmentConfig;
+import com.mongodb.MongoClientSettings;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Connection pool sizing and timeouts for MongoDB clients
+ *
+ * Values are resolved once per JVM (see MongoDBConnection.poolSettings())
+ * from a named profile, then overridden key by key from system properties
+ * or config.properties (via {@link EnvironmentConfig}).
+ *
+ * Profiles ({@code mongodb.pool.profile}):
+ * - default:  5-20 connections, 30s timeouts
+ * - local:    small pool sized to test parallelism, fast-failing timeouts
+ * - ci-heavy: pool sized to test parallelism, generous timeouts
+ *
+ * Overrides: mongodb.pool.minSize, mongodb.pool.maxSize, and the durations (30s, 500ms)
+ * mongodb.pool.maxIdleTime, mongodb.pool.maxLifeTime, mongodb.heartbeatFrequency,
+ * mongodb.connectTimeout, mongodb.socketTimeout, mongodb.serverSelectionTimeout
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public class MongoPoolSettings {
+    private static final Logger LOGGER = Logger.getLogger(MongoPoolSettings.class.getName());
+
+    // Each worker may hold a connection for its query plus one for a cursor getMore or a background write
+    private static final int CONNECTIONS_PER_WORKER = 2;
+    private static final String PARALLELISM_KEY = "cucumber.execution.parallel.config.fixed.parallelism";
+    private static final String PARALLEL_ENABLED_KEY = "cucumber.execution.parallel.enabled";
+
+    private final String profile;
+    private final int minSize;
+    private final int maxSize;
+    private final long maxIdleTimeMs;
+    private final long maxLifeTimeMs;
+    private final long heartbeatFrequencyMs;
+    private final int connectTimeoutMs;
+    private final int socketTimeoutMs;
+    private final long serverSelectionTimeoutMs;
+
+    private MongoPoolSettings(String profile, int minSize, int maxSize, long maxIdleTimeMs, long maxLifeTimeMs,
+                              long heartbeatFrequencyMs, int connectTimeoutMs, int socketTimeoutMs,
+                              long serverSelectionTimeoutMs) {
+        this.profile = profile;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.maxIdleTimeMs = maxIdleTimeMs;
+        this.maxLifeTimeMs = maxLifeTimeMs;
+        this.heartbeatFrequencyMs = heartbeatFrequencyMs;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.socketTimeoutMs = socketTimeoutMs;
+        this.serverSelectionTimeoutMs = serverSelectionTimeoutMs;
+    }
+
+    public static MongoPoolSettings resolve() {
+        String profile = EnvironmentConfig.get("mongodb.pool.profile", "default");
+        int parallelism = resolveParallelism();
+        int derivedMax = Math.max(4, parallelism * CONNECTIONS_PER_WORKER);
+
+        MongoPoolSettings base;
+        switch (profile) {
+            case "local":
+                base = new MongoPoolSettings(profile, 1, derivedMax, 30_000, 600_000,
+                                             10_000, 5_000, 15_000, 5_000);
+                break;
+            case "ci-heavy":
+                base = new MongoPoolSettings(profile, Math.min(parallelism, derivedMax), derivedMax, 120_000, 1_800_000,
+                                             10_000, 30_000, 60_000, 30_000);
+                break;
+            case "default":
+                base = new MongoPoolSettings(profile, 5, 20, 60_000, 1_800_000,
+                                             10_000, 30_000, 30_000, 30_000);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown mongodb.pool.profile: " + profile
+                                                   + " (expected default, local or ci-heavy)");
+        }
+
+        int maxSize = intValue("mongodb.pool.maxSize", base.maxSize);
+        MongoPoolSettings settings = new MongoPoolSettings(
+            profile,
+            Math.min(intValue("mongodb.pool.minSize", base.minSize), maxSize),
+            maxSize,
+            millis("mongodb.pool.maxIdleTime", base.maxIdleTimeMs),
+            millis("mongodb.pool.maxLifeTime", base.maxLifeTimeMs),
+            millis("mongodb.heartbeatFrequency", base.heartbeatFrequencyMs),
+            Math.toIntExact(millis("mongodb.connectTimeout", base.connectTimeoutMs)),
+            Math.toIntExact(millis("mongodb.socketTimeout", base.socketTimeoutMs)),
+            millis("mongodb.serverSelectionTimeout", base.serverSelectionTimeoutMs));
+
+        LOGGER.info("MongoDB pool settings (parallelism " + parallelism + "): " + settings);
+        return settings;
+    }
+
+    public void applyTo(MongoClientSettings.Builder builder) {
+        builder.applyToConnectionPoolSettings(pool ->
+                   pool.minSize(minSize)
+                       .maxSize(maxSize)
+                       .maxConnectionIdleTime(maxIdleTimeMs, TimeUnit.MILLISECONDS)
+                       .maxConnectionLifeTime(maxLifeTimeMs, TimeUnit.MILLISECONDS))
+               .applyToSocketSettings(socket ->
+                   socket.connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                         .readTimeout(socketTimeoutMs, TimeUnit.MILLISECONDS))
+               .applyToServerSettings(server ->
+                   server.heartbeatFrequency(heartbeatFrequencyMs, TimeUnit.MILLISECONDS)
+                         .minHeartbeatFrequency(500, TimeUnit.MILLISECONDS))
+               .applyToClusterSettings(cluster ->
+                   cluster.serverSelectionTimeout(serverSelectionTimeoutMs, TimeUnit.MILLISECONDS));
+    }
+
+    public String getProfile() { return profile; }
+    public int getMinSize() { return minSize; }
+    public int getMaxSize() { return maxSize; }
+    public long getMaxIdleTimeMs() { return maxIdleTimeMs; }
+    public long getMaxLifeTimeMs() { return maxLifeTimeMs; }
+    public long getHeartbeatFrequencyMs() { return heartbeatFrequencyMs; }
+    public int getConnectTimeoutMs() { return connectTimeoutMs; }
+    public int getSocketTimeoutMs() { return socketTimeoutMs; }
+    public long getServerSelectionTimeoutMs() { return serverSelectionTimeoutMs; }
+
+    @Override
+    public String toString() {
+        return String.format("profile=%s, pool=%d-%d, idle=%dms, lifetime=%dms, heartbeat=%dms, connect=%dms, socket=%dms, serverSelection=%dms",
+                             profile, minSize, maxSize, maxIdleTimeMs, maxLifeTimeMs, heartbeatFrequencyMs,
+                             connectTimeoutMs, socketTimeoutMs, serverSelectionTimeoutMs);
+    }
+
+    // Cucumber parallelism from system properties or cucumber.properties on the classpath
+    static int resolveParallelism() {
+        Properties cucumber = new Properties();
+        try (InputStream in = MongoPoolSettings.class.getClassLoader().getResourceAsStream("cucumber.properties")) {
+            if (in != null) {
+                cucumber.load(in);
+            }
+        } catch (IOException e) {
+            LOGGER.fine("Could not read cucumber.properties: " + e.getMessage());
+        }
+
+        String enabled = System.getProperty(PARALLEL_ENABLED_KEY, cucumber.getProperty(PARALLEL_ENABLED_KEY, "false"));
+        if (!Boolean.parseBoolean(enabled.trim())) {
+            return 1;
+        }
+        String fixed = System.getProperty(PARALLELISM_KEY, cucumber.getProperty(PARALLELISM_KEY));
+        if (fixed != null && !fixed.isBlank()) {
+            return Math.max(1, Integer.parseInt(fixed.trim()));
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    private static int intValue(String key, int defaultValue) {
+        return EnvironmentConfig.getInt(key, defaultValue);
+    }
+
+    private static long millis(String key, long defaultMs) {
+        return EnvironmentConfig.getDuration(key, Duration.ofMillis(defaultMs)).toMillis();
+    }
+}
@@ -0,0 +1,316 @@
+package com.framework.database;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Diagnostic index advisor for queries issued during a test run
+ *
+ * Intercepts find and aggregate commands, and runs {@code explain} once per
+ * distinct query shape (collection + filter/sort field names) on a
+ * background thread. Findings are:
+ * - COLLSCAN: no index supports the filter
+ * - POOR_SELECTIVITY: far more documents examined than returned
+ *
+ * Each finding carries a suggested index spec (equality, sort, range
+ * field order). Enabled with {@code -Dmongodb.indexAdvisor=true}.
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public class QueryPlanAdvisor implements CommandListener {
+    private static final Logger LOGGER = Logger.getLogger(QueryPlanAdvisor.class.getName());
+    private static final QueryPlanAdvisor INSTANCE = new QueryPlanAdvisor();
+
+    // Examined-to-returned ratio above which an index is considered too unselective
+    private static final long SELECTIVITY_THRESHOLD = 10;
+    private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
+    private static final Set<String> RANGE_OPERATORS = Set.of("$gt", "$gte", "$lt", "$lte", "$ne", "$nin", "$exists", "$regex");
+
+    private final Set<String> seenShapes = ConcurrentHashMap.newKeySet();
+    private final Map<String, Finding> findings = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mongodb-index-advisor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile MongoClient mongoClient;
+
+    public static QueryPlanAdvisor getInstance() {
+        return INSTANCE;
+    }
+
+    // The client used to run explain; commands seen before attach are skipped
+    public void attach(MongoClient mongoClient) {
+        this.mongoClient = mongoClient;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String commandName = event.getCommandName();
+        if (mongoClient == null || !("find".equals(commandName) || "aggregate".equals(commandName))) {
+            return;
+        }
+        // writeReport() has shut the executor down; later commands are not sampled
+        if (executor.isShutdown()) {
+            return;
+        }
+        if ("admin".equals(event.getDatabaseName()) || "local".equals(event.getDatabaseName())) {
+            return;
+        }
+
+        // Shape the raw command first; only a query shape not seen before is decoded for explain
+        BsonDocument command = event.getCommand();
+        BsonValue target = command.get(commandName);
+        if (target == null || !target.isString()) {
+            // Database-level aggregates ({aggregate: 1}) have no collection to index
+            return;
+        }
+        BsonDocument filter = extractFilter(command);
+        BsonDocument sort = extractSort(command);
+        if (filter == null || containsWriteStage(command)) {
+            return;
+        }
+
+        String namespace = event.getDatabaseName() + "." + target.asString().getValue();
+        String shape = namespace + " " + filter.keySet() + " sort " + (sort == null ? "[]" : sort.keySet());
+        if (seenShapes.add(shape)) {
+            // The event's command is only valid during this callback, so decode before handing off
+            Document decoded = toDocument(command);
+            Document filterDocument = toDocument(filter);
+            Document sortDocument = sort == null ? null : toDocument(sort);
+            executor.execute(() -> explain(event.getDatabaseName(), namespace, shape, decoded, filterDocument, sortDocument));
+        }
+    }
+
+    public List<Finding> getFindings() {
+        return new ArrayList<>(findings.values());
+    }
+
+    public String report() {
+        StringBuilder report = new StringBuilder("MongoDB index advisor: ")
+            .append(seenShapes.size()).append(" query shapes analysed, ")
+            .append(findings.size()).append(" findings\n");
+        findings.values().stream()
+            .sorted((a, b) -> a.namespace.compareTo(b.namespace))
+            .forEach(finding -> report.append("  ").append(finding).append('\n'));
+        return report.toString();
+    }
+
+    public void writeReport(Path file) {
+        try {
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, report().getBytes(StandardCharsets.UTF_8));
+            LOGGER.info("Index advisor report written to " + file);
+        } catch (IOException e) {
+            LOGGER.warning("Failed to write index advisor report to " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void explain(String databaseName, String namespace, String shape, Document command,
+                         Document filter, Document sort) {
+        try {
+            Document explainable = new Document();
+            command.forEach((key, value) -> {
+                if (!key.startsWith("$") && !"lsid".equals(key) && !"txnNumber".equals(key)) {
+                    explainable.put(key, value);
+                }
+            });
+            Document result = mongoClient.getDatabase(databaseName)
+                .runCommand(new Document("explain", explainable).append("verbosity", "executionStats"));
+            Finding finding = analyse(namespace, result, filter, sort);
+            if (finding != null) {
+                findings.put(shape, finding);
+            }
+        } catch (Exception e) {
+            LOGGER.fine("Explain failed for " + shape + ": " + e.getMessage());
+        }
+    }
+
+    // Finding for an executionStats explain result, or null when the plan needs no index
+    static Finding analyse(String namespace, Document explainResult, Document filter, Document sort) {
+        Document winningPlan = findDocument(findDocument(explainResult, "queryPlanner"), "winningPlan");
+        Document stats = findDocument(explainResult, "executionStats");
+        Set<String> stages = new LinkedHashSet<>();
+        collectStages(winningPlan, stages);
+
+        long returned = longValue(stats, "nReturned");
+        long examined = longValue(stats, "totalDocsExamined");
+        String suggestion = suggestIndex(filter, sort).toJson();
+
+        if (stages.contains("COLLSCAN") && !filter.isEmpty()) {
+            return new Finding("COLLSCAN", namespace, filter.keySet(), examined, returned, suggestion);
+        } else if (examined > SELECTIVITY_THRESHOLD * Math.max(1, returned)) {
+            return new Finding("POOR_SELECTIVITY", namespace, filter.keySet(), examined, returned, suggestion);
+        }
+        return null;
+    }
+
+    // Equality fields first, then sort fields, then range fields (ESR rule)
+    static Document suggestIndex(Document filter, Document sort) {
+        Document equality = new Document();
+        Document range = new Document();
+        filter.forEach((field, condition) -> {
+            if (field.startsWith("$")) return;
+            boolean isRange = condition instanceof Document
+                && ((Document) condition).keySet().stream().anyMatch(RANGE_OPERATORS::contains);
+            (isRange ? range : equality).put(field, 1);
+        });
+        Document index = new Document(equality);
+        if (sort != null) {
+            sort.forEach((field, direction) -> index.putIfAbsent(field, direction));
+        }
+        range.forEach(index::putIfAbsent);
+        return index;
+    }
+
+    private static BsonDocument extractFilter(BsonDocument command) {
+        if (command.containsKey("find")) {
+            BsonValue filter = command.get("filter");
+            return filter != null && filter.isDocument() ? filter.asDocument() : new BsonDocument();
+        }
+        BsonValue pipeline = command.get("pipeline");
+        if (pipeline != null && pipeline.isArray() && !pipeline.asArray().isEmpty()) {
+            BsonValue match = stageOperand(pipeline.asArray().get(0), "$match");
+            if (match != null && match.isDocument()) {
+                return match.asDocument();
+            }
+        }
+        return null;
+    }
+
+    private static BsonDocument extractSort(BsonDocument command) {
+        BsonValue sort = command.get("sort");
+        if (sort != null && sort.isDocument()) {
+            return sort.asDocument();
+        }
+        BsonValue pipeline = command.get("pipeline");
+        if (pipeline != null && pipeline.isArray() && pipeline.asArray().size() > 1) {
+            BsonValue pipelineSort = stageOperand(pipeline.asArray().get(1), "$sort");
+            if (pipelineSort != null && pipelineSort.isDocument()) {
+                return pipelineSort.asDocument();
+            }
+        }
+        return null;
+    }
+
+    private static boolean containsWriteStage(BsonDocument command) {
+        BsonValue pipeline = command.get("pipeline");
+        if (pipeline == null || !pipeline.isArray()) return false;
+        for (BsonValue stage : pipeline.asArray()) {
+            if (stage.isDocument() && (stage.asDocument().containsKey("$out") || stage.asDocument().containsKey("$merge"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static BsonValue stageOperand(BsonValue stage, String operator) {
+        return stage.isDocument() ? stage.asDocument().get(operator) : null;
+    }
+
+    private static Document toDocument(BsonDocument bson) {
+        return DOCUMENT_CODEC.decode(new BsonDocumentReader(bson), DecoderContext.builder().build());
+    }
+
+    // Depth-first search for the first nested document under key (explain output shape varies by server version)
+    private static Document findDocument(Object node, String key) {
+        if (node instanceof Document) {
+            Document document = (Document) node;
+            if (document.get(key) instanceof Document) {
+                return (Document) document.get(key);
+            }
+            for (Object value : document.values()) {
+                Document found = findDocument(value, key);
+                if (found != null) return found;
+            }
+        } else if (node instanceof List) {
+            for (Object value : (List<?>) node) {
+                Document found = findDocument(value, key);
+                if (found != null) return found;
+            }
+        }
+        return null;
+    }
+
+    private static void collectStages(Object node, Set<String> stages) {
+        if (node instanceof Document) {
+            Document document = (Document) node;
+            if (document.get("stage") instanceof String) {
+                stages.add(document.getString("stage"));
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List) {
+            ((List<?>) node).forEach(value -> collectStages(value, stages));
+        }
+    }
+
+    private static long longValue(Document document, String key) {
+        if (document == null || !(document.get(key) instanceof Number)) return 0;
+        return ((Number) document.get(key)).longValue();
+    }
+
+    /**
+     * One advisor finding for a query shape
+     */
+    public static class Finding {
+        private final String type;
+        private final String namespace;
+        private final Set<String> filterFields;
+        private final long docsExamined;
+        private final long docsReturned;
+        private final String suggestedIndex;
+
+        Finding(String type, String namespace, Set<String> filterFields, long docsExamined, long docsReturned,
+                String suggestedIndex) {
+            this.type = type;
+            this.namespace = namespace;
+            this.filterFields = filterFields;
+            this.docsExamined = docsExamined;
+            this.docsReturned = docsReturned;
+            this.suggestedIndex = suggestedIndex;
+        }
+
+        public String getType() { return type; }
+        public String getNamespace() { return namespace; }
+        public Set<String> getFilterFields() { return filterFields; }
+        public long getDocsExamined() { return docsExamined; }
+        public long getDocsReturned() { return docsReturned; }
+        public String getSuggestedIndex() { return suggestedIndex; }
+
+        @Override
+        public String toString() {
+            return String.format("%s on %s filter=%s examined=%d returned=%d -> createIndex(%s)",
+                                 type, namespace, filterFields, docsExamined, docsReturned, suggestedIndex);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.framework.database;
+
+import com.mongodb.client.result.InsertManyResult;
+import com.mongodb.client.result.InsertOneResult;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+/**
+ * Non-blocking MongoDB access path built on the reactive streams driver
+ *
+ * Features:
+ * - Same pool, socket and timeout settings as {@link MongoDBConnection}
+ * - find/insert/aggregate returning composable CompletableFutures
+ * - Raw Publisher access for callers that bring their own reactive library
+ * - Hundreds of concurrent operations without a thread per query
+ *
+ * Usage:
+ * <pre>
+ * ReactiveMongoDBConnection reactive = ReactiveMongoDBConnection.getInstance();
+ * CompletableFuture.allOf(
+ *     reactive.insert("users", user1),
+ *     reactive.insert("users", user2)
+ * ).join();
+ * </pre>
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public class ReactiveMongoDBConnection {
+    private static final Logger LOGGER = Logger.getLogger(ReactiveMongoDBConnection.class.getName());
+
+    private final MongoClient mongoClient;
+    private final MongoDatabase database;
+
+    private ReactiveMongoDBConnection() {
+        LOGGER.info("Creating reactive MongoDB client for URI: " + MongoDBConnection.maskedUri());
+        mongoClient = MongoClients.create(MongoDBConnection.buildClientSettings());
+        database = mongoClient.getDatabase(MongoDBConnection.getDatabaseName());
+    }
+
+    private static final class Holder {
+        private static final ReactiveMongoDBConnection INSTANCE = new ReactiveMongoDBConnection();
+    }
+
+    // Checked before touching Holder: a failing static initialiser would poison the class for the whole JVM
+    public static ReactiveMongoDBConnection getInstance() {
+        if (MongoDBConnection.isInMemoryBackend()) {
+            throw new UnsupportedOperationException("Reactive client is not available with the in-memory MongoDB backend");
+        }
+        return Holder.INSTANCE;
+    }
+
+    public MongoDatabase getDatabase() {
+        return database;
+    }
+
+    public MongoDatabase getDatabase(String databaseName) {
+        return mongoClient.getDatabase(databaseName);
+    }
+
+    public MongoCollection<Document> getCollection(String collectionName) {
+        return database.getCollection(collectionName);
+    }
+
+    // Non-blocking operations
+    public CompletableFuture<List<Document>> find(String collectionName, Bson filter) {
+        return toList(getCollection(collectionName).find(filter));
+    }
+
+    public CompletableFuture<Document> findFirst(String collectionName, Bson filter) {
+        return first(getCollection(collectionName).find(filter).first());
+    }
+
+    public CompletableFuture<InsertOneResult> insert(String collectionName, Document document) {
+        return first(getCollection(collectionName).insertOne(document));
+    }
+
+    public CompletableFuture<InsertManyResult> insertMany(String collectionName, List<Document> documents) {
+        return first(getCollection(collectionName).insertMany(documents));
+    }
+
+    public CompletableFuture<List<Document>> aggregate(String collectionName, List<? extends Bson> pipeline) {
+        return toList(getCollection(collectionName).aggregate(pipeline));
+    }
+
+    public void closeConnection() {
+        mongoClient.close();
+        LOGGER.info("Reactive MongoDB connection closed");
+    }
+
+    // Publisher adapters
+    public static <T> CompletableFuture<List<T>> toList(Publisher<T> publisher) {
+        CompletableFuture<List<T>> future = new CompletableFuture<>();
+        publisher.subscribe(new Subscriber<T>() {
+            private final List<T> items = new ArrayList<>();
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(T item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                future.completeExceptionally(error);
+            }
+
+            @Override
+            public void onComplete() {
+                future.complete(Collections.unmodifiableList(items));
+            }
+        });
+        return future;
+    }
+
+    // Completes with the first emitted item, or null if the publisher is empty
+    public static <T> CompletableFuture<T> first(Publisher<T> publisher) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        publisher.subscribe(new Subscriber<T>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(T item) {
+                future.complete(item);
+                subscription.cancel();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                future.completeExceptionally(error);
+            }
+
+            @Override
+            public void onComplete() {
+                future.complete(null);
+            }
+        });
+        return future;
+    }
+}
@@ -0,0 +1,105 @@
+package com.framework.database;
+
+import com.framework.config.EnvironmentConfig;
+import com.mongodb.ReadPreference;
+import com.mongodb.Tag;
+import com.mongodb.TagSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Read preference routing for verification reads
+ *
+ * Lets read-heavy assertions move off the primary without each step
+ * building its own client. Writes always go to the primary; only collections
+ * obtained through the routing are affected.
+ *
+ * Configuration (system properties or config.properties via {@link EnvironmentConfig}):
+ * - mongodb.read.preference: primary, primaryPreferred, secondary, secondaryPreferred
+ *   or nearest (default primary)
+ * - mongodb.read.maxStalenessSeconds: staleness bound for non-primary modes (server minimum is 90)
+ * - mongodb.read.tags: tag sets in priority order, e.g. "dc:east,use:reporting;dc:west;"
+ *   (a trailing ';' adds the empty tag set, i.e. "any member" as last resort)
+ * - mongodb.read.preference.&lt;collection&gt;: per-collection mode, sharing staleness and tags
+ *
+ * Reads from secondaries can lag the system under test's writes by up to the
+ * staleness bound; wait with awaitDocument when a fresh write must be seen.
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public class ReadRouting {
+    private static final Logger LOGGER = Logger.getLogger(ReadRouting.class.getName());
+
+    private final ReadPreference defaultPreference;
+    private final Long maxStalenessSeconds;
+    private final String tags;
+    private final ConcurrentMap<String, ReadPreference> perCollection = new ConcurrentHashMap<>();
+
+    private ReadRouting(ReadPreference defaultPreference, Long maxStalenessSeconds, String tags) {
+        this.defaultPreference = defaultPreference;
+        this.maxStalenessSeconds = maxStalenessSeconds;
+        this.tags = tags;
+    }
+
+    public static ReadRouting resolve() {
+        long staleness = EnvironmentConfig.getLong("mongodb.read.maxStalenessSeconds", -1);
+        Long maxStalenessSeconds = staleness < 0 ? null : staleness;
+        String tags = EnvironmentConfig.get("mongodb.read.tags", null);
+        ReadPreference preference = build(EnvironmentConfig.get("mongodb.read.preference", "primary"),
+                                          maxStalenessSeconds, tags);
+        LOGGER.info("Verification read preference: " + preference);
+        return new ReadRouting(preference, maxStalenessSeconds, tags);
+    }
+
+    public ReadPreference getDefaultPreference() {
+        return defaultPreference;
+    }
+
+    public ReadPreference forCollection(String collectionName) {
+        return perCollection.computeIfAbsent(collectionName, name -> {
+            String mode = EnvironmentConfig.get("mongodb.read.preference." + name, null);
+            return mode == null ? defaultPreference : build(mode, maxStalenessSeconds, tags);
+        });
+    }
+
+    // mode is a ReadPreference name; staleness and tags are ignored for primary
+    public static ReadPreference build(String mode, Long maxStalenessSeconds, String tags) {
+        if ("primary".equalsIgnoreCase(mode)) {
+            if (maxStalenessSeconds != null || (tags != null && !tags.isEmpty())) {
+                LOGGER.warning("Read preference primary ignores maxStalenessSeconds and tags");
+            }
+            return ReadPreference.primary();
+        }
+        List<TagSet> tagSets = parseTags(tags);
+        if (maxStalenessSeconds != null) {
+            return ReadPreference.valueOf(mode, tagSets, maxStalenessSeconds, TimeUnit.SECONDS);
+        }
+        return ReadPreference.valueOf(mode, tagSets);
+    }
+
+    // "dc:east,use:reporting;dc:west;" -> [{dc:east, use:reporting}, {dc:west}, {}]
+    static List<TagSet> parseTags(String tags) {
+        List<TagSet> tagSets = new ArrayList<>();
+        if (tags == null || tags.trim().isEmpty()) {
+            return tagSets;
+        }
+        for (String set : tags.split(";", -1)) {
+            List<Tag> tagList = new ArrayList<>();
+            for (String pair : set.split(",")) {
+                if (pair.trim().isEmpty()) continue;
+                int colon = pair.indexOf(':');
+                if (colon < 1) {
+                    throw new IllegalArgumentException("Invalid read preference tag '" + pair + "' (expected name:value)");
+                }
+                tagList.add(new Tag(pair.substring(0, colon).trim(), pair.substring(colon + 1).trim()));
+            }
+            tagSets.add(new TagSet(tagList));
+        }
+        return tagSets;
+    }
+}
@@ -0,0 +1,92 @@
+package com.framework.database;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Logger;
+
+/**
+ * Readiness polling with exponential backoff and jitter
+ *
+ * Polls a check starting at a sub-100ms interval and doubles the delay
+ * after each failed attempt up to a cap. Each sleep is randomised between
+ * the initial delay and the current ceiling, so parallel runners do not
+ * probe in lockstep. The probe returns as soon as the check passes and
+ * throws {@link TimeoutException} once the overall timeout is exhausted.
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public class ReadinessProbe {
+    private static final Logger LOGGER = Logger.getLogger(ReadinessProbe.class.getName());
+
+    public static final Duration DEFAULT_INITIAL_DELAY = Duration.ofMillis(50);
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(2);
+
+    private final String name;
+    private final Duration timeout;
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+
+    public ReadinessProbe(String name, Duration timeout) {
+        this(name, timeout, DEFAULT_INITIAL_DELAY, DEFAULT_MAX_DELAY);
+    }
+
+    public ReadinessProbe(String name, Duration timeout, Duration initialDelay, Duration maxDelay) {
+        this.name = name;
+        this.timeout = timeout;
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    // Blocks until check returns true; exceptions thrown by the check count as "not ready yet"
+    public void await(Callable<Boolean> check) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        Exception lastError = null;
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (Boolean.TRUE.equals(check.call())) {
+                    LOGGER.info(name + " ready after " + attempt + " attempts in "
+                                + Duration.ofNanos(System.nanoTime() - start).toMillis() + "ms");
+                    return;
+                }
+                lastError = null;
+            } catch (Exception e) {
+                lastError = e;
+                LOGGER.fine(name + " not ready on attempt " + attempt + ": " + e.getMessage());
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new TimeoutException(name + " not ready after " + timeout.toMillis() + "ms ("
+                                           + attempt + " attempts)", lastError);
+            }
+
+            try {
+                Thread.sleep(Math.min(backoffMillis(attempt), Duration.ofNanos(remaining).toMillis() + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Wait for " + name + " interrupted", e);
+            }
+        }
+    }
+
+    // Full jitter: uniform between the initial delay and min(maxDelay, initialDelay * 2^(attempt-1))
+    long backoffMillis(int attempt) {
+        long initial = initialDelay.toMillis();
+        long ceiling = initial << Math.min(attempt - 1, 20);
+        ceiling = Math.min(maxDelay.toMillis(), ceiling);
+        return ceiling <= initial ? initial : ThreadLocalRandom.current().nextLong(initial, ceiling + 1);
+    }
+
+    // The check did not pass before the deadline; the cause is the last attempt's exception, if it threw
+    public static class TimeoutException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public TimeoutException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package com.framework.database.memory;
+
+import org.bson.BsonRegularExpression;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Query filter evaluation and BSON value ordering for the in-memory backend
+ *
+ * Supports field equality (including array membership and dotted paths),
+ * $eq, $ne, $gt, $gte, $lt, $lte, $in, $nin, $exists, $regex, $size, $all,
+ * $elemMatch, $not and the logical $and, $or and $nor operators.
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+final class DocumentMatcher {
+    private static final Object NULL_KEY = new Object();
+
+    private DocumentMatcher() {
+    }
+
+    static boolean matches(Document document, Document filter) {
+        for (Map.Entry<String, Object> entry : filter.entrySet()) {
+            String key = entry.getKey();
+            Object condition = entry.getValue();
+            switch (key) {
+                case "$and":
+                    for (Object clause : asList(condition, key)) {
+                        if (!matches(document, (Document) clause)) return false;
+                    }
+                    break;
+                case "$or":
+                    if (asList(condition, key).stream().noneMatch(clause -> matches(document, (Document) clause))) return false;
+                    break;
+                case "$nor":
+                    if (asList(condition, key).stream().anyMatch(clause -> matches(document, (Document) clause))) return false;
+                    break;
+                case "$comment":
+                    break;
+                default:
+                    if (key.startsWith("$")) {
+                        throw unsupported("query operator " + key);
+                    }
+                    if (!matchesField(document, key, condition)) return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesField(Document document, String path, Object condition) {
+        if (isOperatorDocument(condition)) {
+            Document operators = (Document) condition;
+            for (Map.Entry<String, Object> operator : operators.entrySet()) {
+                if ("$options".equals(operator.getKey())) continue;
+                if (!matchesOperator(document, path, operator.getKey(), operator.getValue(), operators)) return false;
+            }
+            return true;
+        }
+        return matchesOperator(document, path, "$eq", condition, null);
+    }
+
+    private static boolean matchesOperator(Document document, String path, String operator, Object operand,
+                                           Document siblings) {
+        List<Object> candidates = candidates(document, path);
+        switch (operator) {
+            case "$eq":
+                return equalsAny(candidates, operand);
+            case "$ne":
+                return !equalsAny(candidates, operand);
+            case "$gt":
+                return candidates.stream().anyMatch(value -> comparable(value, operand) && compare(value, operand) > 0);
+            case "$gte":
+                return candidates.stream().anyMatch(value -> comparable(value, operand) && compare(value, operand) >= 0);
+            case "$lt":
+                return candidates.stream().anyMatch(value -> comparable(value, operand) && compare(value, operand) < 0);
+            case "$lte":
+                return candidates.stream().anyMatch(value -> comparable(value, operand) && compare(value, operand) <= 0);
+            case "$in":
+                return asList(operand, operator).stream().anyMatch(option -> equalsAny(candidates, option));
+            case "$nin":
+                return asList(operand, operator).stream().noneMatch(option -> equalsAny(candidates, option));
+            case "$exists":
+                return isPresent(document, path) == Boolean.TRUE.equals(operand);
+            case "$regex": {
+                Pattern pattern = toPattern(operand, siblings == null ? null : siblings.getString("$options"));
+                return candidates.stream().anyMatch(value -> value instanceof String && pattern.matcher((String) value).find());
+            }
+            case "$size": {
+                Object value = get(document, path);
+                return value instanceof List && ((List<?>) value).size() == ((Number) operand).intValue();
+            }
+            case "$all": {
+                Object value = get(document, path);
+                if (!(value instanceof List)) return false;
+                for (Object required : asList(operand, operator)) {
+                    if (((List<?>) value).stream().noneMatch(element -> valuesEqual(element, required))) return false;
+                }
+                return true;
+            }
+            case "$elemMatch": {
+                Object value = get(document, path);
+                if (!(value instanceof List)) return false;
+                Document elementFilter = (Document) operand;
+                for (Object element : (List<?>) value) {
+                    if (element instanceof Document && !isOperatorDocument(elementFilter)
+                        && matches((Document) element, elementFilter)) {
+                        return true;
+                    }
+                    if (isOperatorDocument(elementFilter)
+                        && matchesField(new Document("v", element), "v", elementFilter)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            case "$not":
+                return !matchesField(document, path, operand instanceof Document ? operand : new Document("$regex", operand));
+            default:
+                throw unsupported("query operator " + operator);
+        }
+    }
+
+    // Values a path resolves to: the value itself plus, for arrays, each element
+    static List<Object> candidates(Document document, String path) {
+        List<Object> values = new ArrayList<>();
+        collect(document, path.split("\\."), 0, values);
+        return values;
+    }
+
+    private static void collect(Object node, String[] parts, int index, List<Object> values) {
+        if (index == parts.length) {
+            values.add(node);
+            if (node instanceof List) {
+                values.addAll((List<?>) node);
+            }
+            return;
+        }
+        if (node instanceof Document) {
+            Document document = (Document) node;
+            if (document.containsKey(parts[index])) {
+                collect(document.get(parts[index]), parts, index + 1, values);
+            }
+        } else if (node instanceof List) {
+            List<?> list = (List<?>) node;
+            if (parts[index].chars().allMatch(Character::isDigit)) {
+                int position = Integer.parseInt(parts[index]);
+                if (position < list.size()) {
+                    collect(list.get(position), parts, index + 1, values);
+                }
+            } else {
+                for (Object element : list) {
+                    collect(element, parts, index, values);
+                }
+            }
+        }
+    }
+
+    // Simple dotted-path lookup without array expansion; null when absent
+    static Object get(Document document, String path) {
+        Object node = document;
+        for (String part : path.split("\\.")) {
+            if (node instanceof Document) {
+                node = ((Document) node).get(part);
+            } else if (node instanceof List && part.chars().allMatch(Character::isDigit)) {
+                List<?> list = (List<?>) node;
+                int position = Integer.parseInt(part);
+                node = position < list.size() ? list.get(position) : null;
+            } else {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    static boolean isPresent(Document document, String path) {
+        Object node = document;
+        for (String part : path.split("\\.")) {
+            if (!(node instanceof Document) || !((Document) node).containsKey(part)) {
+                return false;
+            }
+            node = ((Document) node).get(part);
+        }
+        return true;
+    }
+
+    static boolean isOperatorDocument(Object value) {
+        if (!(value instanceof Document) || ((Document) value).isEmpty()) return false;
+        return ((Document) value).keySet().iterator().next().startsWith("$");
+    }
+
+    private static boolean equalsAny(List<Object> candidates, Object operand) {
+        if (operand == null && candidates.isEmpty()) {
+            return true;
+        }
+        if (operand instanceof Pattern || operand instanceof BsonRegularExpression) {
+            Pattern pattern = toPattern(operand, null);
+            return candidates.stream().anyMatch(value -> value instanceof String && pattern.matcher((String) value).find());
+        }
+        return candidates.stream().anyMatch(value -> valuesEqual(value, operand));
+    }
+
+    static boolean valuesEqual(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        if (isNumber(a) && isNumber(b)) {
+            return toBigDecimal(a).compareTo(toBigDecimal(b)) == 0;
+        }
+        if (a instanceof Document && b instanceof Document) {
+            Document left = (Document) a;
+            Document right = (Document) b;
+            if (left.size() != right.size()) return false;
+            Iterator<Map.Entry<String, Object>> leftEntries = left.entrySet().iterator();
+            Iterator<Map.Entry<String, Object>> rightEntries = right.entrySet().iterator();
+            while (leftEntries.hasNext()) {
+                Map.Entry<String, Object> l = leftEntries.next();
+                Map.Entry<String, Object> r = rightEntries.next();
+                if (!l.getKey().equals(r.getKey()) || !valuesEqual(l.getValue(), r.getValue())) return false;
+            }
+            return true;
+        }
+        if (a instanceof List && b instanceof List) {
+            List<?> left = (List<?>) a;
+            List<?> right = (List<?>) b;
+            if (left.size() != right.size()) return false;
+            for (int i = 0; i < left.size(); i++) {
+                if (!valuesEqual(left.get(i), right.get(i))) return false;
+            }
+            return true;
+        }
+        return Objects.equals(a, b);
+    }
+
+    // Hashable form with the same equality as valuesEqual: numbers by value, documents by ordered fields
+    static Object hashKey(Object value) {
+        if (value == null) return NULL_KEY;
+        if (isNumber(value)) {
+            if (value instanceof Double && (((Double) value).isNaN() || ((Double) value).isInfinite())) return value;
+            return toBigDecimal(value).stripTrailingZeros();
+        }
+        if (value instanceof Document) {
+            List<Object> fields = new ArrayList<>(((Document) value).size() * 2);
+            ((Document) value).forEach((field, element) -> {
+                fields.add(field);
+                fields.add(hashKey(element));
+            });
+            return new DocumentKey(fields);
+        }
+        if (value instanceof List) {
+            List<Object> elements = new ArrayList<>(((List<?>) value).size());
+            for (Object element : (List<?>) value) {
+                elements.add(hashKey(element));
+            }
+            return elements;
+        }
+        return value;
+    }
+
+    // Keeps a document key distinct from an array holding the same name/value sequence
+    private static final class DocumentKey {
+        private final List<Object> fields;
+
+        DocumentKey(List<Object> fields) {
+            this.fields = fields;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof DocumentKey && fields.equals(((DocumentKey) other).fields);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * fields.hashCode() + 7;
+        }
+    }
+
+    // Range operators only compare values of the same BSON type class
+    private static boolean comparable(Object value, Object operand) {
+        return value != null && operand != null && typeRank(value) == typeRank(operand);
+    }
+
+    // Total order across BSON types, following the server's comparison order
+    static int compare(Object a, Object b) {
+        int rankA = typeRank(a);
+        int rankB = typeRank(b);
+        if (rankA != rankB) {
+            return Integer.compare(rankA, rankB);
+        }
+        if (a == null) return 0;
+        if (isNumber(a)) return toBigDecimal(a).compareTo(toBigDecimal(b));
+        if (a instanceof String) return ((String) a).compareTo((String) b);
+        if (a instanceof Date) return ((Date) a).compareTo((Date) b);
+        if (a instanceof ObjectId) return ((ObjectId) a).compareTo((ObjectId) b);
+        if (a instanceof Boolean) return Boolean.compare((Boolean) a, (Boolean) b);
+        if (a instanceof List) {
+            List<?> left = (List<?>) a;
+            List<?> right = (List<?>) b;
+            for (int i = 0; i < Math.min(left.size(), right.size()); i++) {
+                int result = compare(left.get(i), right.get(i));
+                if (result != 0) return result;
+            }
+            return Integer.compare(left.size(), right.size());
+        }
+        if (a instanceof Document) {
+            Iterator<Map.Entry<String, Object>> left = ((Document) a).entrySet().iterator();
+            Iterator<Map.Entry<String, Object>> right = ((Document) b).entrySet().iterator();
+            while (left.hasNext() && right.hasNext()) {
+                Map.Entry<String, Object> l = left.next();
+                Map.Entry<String, Object> r = right.next();
+                int result = compare(l.getValue(), r.getValue());
+                if (result == 0) result = l.getKey().compareTo(r.getKey());
+                if (result != 0) return result;
+            }
+            return Boolean.compare(left.hasNext(), right.hasNext());
+        }
+        return String.valueOf(a).compareTo(String.valueOf(b));
+    }
+
+    private static int typeRank(Object value) {
+        if (value == null) return 1;
+        if (isNumber(value)) return 2;
+        if (value instanceof String) return 3;
+        if (value instanceof Document) return 4;
+        if (value instanceof List) return 5;
+        if (value instanceof Binary) return 6;
+        if (value instanceof ObjectId) return 7;
+        if (value instanceof Boolean) return 8;
+        if (value instanceof Date) return 9;
+        return 10;
+    }
+
+    static boolean isNumber(Object value) {
+        return value instanceof Number || value instanceof Decimal128;
+    }
+
+    static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof Decimal128) return ((Decimal128) value).bigDecimalValue();
+        if (value instanceof Double || value instanceof Float) return BigDecimal.valueOf(((Number) value).doubleValue());
+        if (value instanceof BigDecimal) return (BigDecimal) value;
+        return BigDecimal.valueOf(((Number) value).longValue());
+    }
+
+    private static Pattern toPattern(Object operand, String options) {
+        if (operand instanceof Pattern) {
+            return (Pattern) operand;
+        }
+        String regex;
+        String flags = options == null ? "" : options;
+        if (operand instanceof BsonRegularExpression) {
+            regex = ((BsonRegularExpression) operand).getPattern();
+            flags = flags + ((BsonRegularExpression) operand).getOptions();
+        } else {
+            regex = String.valueOf(operand);
+        }
+        int bits = 0;
+        if (flags.contains("i")) bits |= Pattern.CASE_INSENSITIVE;
+        if (flags.contains("m")) bits |= Pattern.MULTILINE;
+        if (flags.contains("s")) bits |= Pattern.DOTALL;
+        if (flags.contains("x")) bits |= Pattern.COMMENTS;
+        return Pattern.compile(regex, bits);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> asList(Object value, String operator) {
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException(operator + " requires an array but was " + value);
+        }
+        return (List<Object>) value;
+    }
+
+    static UnsupportedOperationException unsupported(String feature) {
+        return new UnsupportedOperationException("In-memory MongoDB backend does not support " + feature);
+    }
+}
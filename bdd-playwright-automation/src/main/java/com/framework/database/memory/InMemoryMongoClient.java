@@ -0,0 +1,304 @@
+package com.framework.database.memory;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.ServerAddress;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.ListCollectionsIterable;
+import com.mongodb.client.ListDatabasesIterable;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.MongoIterable;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Logger;
+
+/**
+ * In-process stand-in for a MongoDB deployment, exposed through the sync driver's MongoClient interface
+ *
+ * Features:
+ * - Databases and collections created on first use, like the server; renameCollection within a database
+ * - CRUD, indexes, bulk writes and simple aggregation (see MemoryCollection, MemoryAggregation)
+ * - Commands: ping, buildInfo, replSetGetStatus (single PRIMARY member), createIndexes,
+ *   dropDatabase and a coarse explain
+ * - Unsupported features (sessions, change streams, ...) fail fast with UnsupportedOperationException
+ *
+ * Selected with -Dmongodb.backend=memory so step definitions and unit-style
+ * tests can run without Docker. State lives for the lifetime of the client.
+ *
+ * Usage:
+ * MongoClient client = InMemoryMongoClient.create();
+ * client.getDatabase("testdb").getCollection("users").insertOne(new Document("name", "John"));
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public final class InMemoryMongoClient {
+    private static final Logger LOGGER = Logger.getLogger(InMemoryMongoClient.class.getName());
+
+    private final ConcurrentMap<String, ConcurrentMap<String, MemoryCollection>> databases = new ConcurrentHashMap<>();
+
+    private final CodecRegistry codecRegistry;
+
+    private InMemoryMongoClient(CodecRegistry codecRegistry) {
+        this.codecRegistry = codecRegistry;
+    }
+
+    public static MongoClient create() {
+        return create(MemoryDocuments.DEFAULT_REGISTRY);
+    }
+
+    // Registry used by database and collection views (e.g. one including POJO codecs)
+    public static MongoClient create(CodecRegistry codecRegistry) {
+        LOGGER.info("Using in-memory MongoDB backend");
+        InMemoryMongoClient state = new InMemoryMongoClient(codecRegistry);
+        return (MongoClient) Proxy.newProxyInstance(InMemoryMongoClient.class.getClassLoader(),
+                                                    new Class<?>[] {MongoClient.class}, state.new ClientHandler());
+    }
+
+    // Creates the collection on first use, as a write on the server does
+    MemoryCollection collection(String databaseName, String collectionName) {
+        return databases.computeIfAbsent(databaseName, name -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(collectionName, name -> new MemoryCollection(this, databaseName, name));
+    }
+
+    // For reads: a missing collection behaves as empty and is not created
+    MemoryCollection existingCollection(String databaseName, String collectionName) {
+        Map<String, MemoryCollection> collections = databases.get(databaseName);
+        MemoryCollection collection = collections == null ? null : collections.get(collectionName);
+        return collection != null ? collection : new MemoryCollection(this, databaseName, collectionName);
+    }
+
+    void dropCollection(String databaseName, String collectionName) {
+        Map<String, MemoryCollection> collections = databases.get(databaseName);
+        if (collections != null) {
+            collections.remove(collectionName);
+        }
+    }
+
+    // The target entry is replaced before the source is removed, so readers never see the target missing
+    synchronized void renameCollection(String databaseName, String from, String to, boolean dropTarget) {
+        Map<String, MemoryCollection> collections = databases.get(databaseName);
+        MemoryCollection source = collections == null ? null : collections.get(from);
+        if (source == null) {
+            throw new IllegalArgumentException("source namespace does not exist: " + databaseName + "." + from);
+        }
+        if (!dropTarget && collections.containsKey(to)) {
+            throw new IllegalArgumentException("target namespace exists: " + databaseName + "." + to);
+        }
+        source.rename(to);
+        collections.put(to, source);
+        collections.remove(from);
+    }
+
+    private List<String> collectionNames(String databaseName) {
+        Map<String, MemoryCollection> collections = databases.get(databaseName);
+        return collections == null ? Collections.emptyList() : new ArrayList<>(collections.keySet());
+    }
+
+    private List<String> databaseNames() {
+        List<String> names = new ArrayList<>();
+        databases.forEach((name, collections) -> {
+            if (!collections.isEmpty()) names.add(name);
+        });
+        return names;
+    }
+
+    private Object invokeDefault(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.isDefault()) {
+            return InvocationHandler.invokeDefault(proxy, method, args);
+        }
+        throw DocumentMatcher.unsupported(method.getDeclaringClass().getSimpleName() + "." + method.getName());
+    }
+
+    /**
+     * MongoClient proxy
+     */
+    private final class ClientHandler implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "toString":
+                    return "InMemoryMongoClient" + databaseNames();
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "getDatabase":
+                    return database((String) args[0], codecRegistry);
+                case "listDatabaseNames":
+                    return MemoryIterable.create(MongoIterable.class, query -> databaseNames(), value -> value,
+                                                 MemoryDocuments.DEFAULT_REGISTRY);
+                case "listDatabases":
+                    return MemoryIterable.create(ListDatabasesIterable.class, query -> {
+                        List<Document> infos = new ArrayList<>();
+                        for (String name : databaseNames()) {
+                            infos.add(new Document("name", name).append("sizeOnDisk", 0L).append("empty", false));
+                        }
+                        return infos;
+                    }, value -> value, MemoryDocuments.DEFAULT_REGISTRY);
+                case "close":
+                    return null;
+                case "startSession":
+                    throw DocumentMatcher.unsupported("client sessions");
+                case "watch":
+                    throw DocumentMatcher.unsupported("change streams");
+                default:
+                    return invokeDefault(proxy, method, args);
+            }
+        }
+    }
+
+    private MongoDatabase database(String name, CodecRegistry registry) {
+        return (MongoDatabase) Proxy.newProxyInstance(InMemoryMongoClient.class.getClassLoader(),
+                                                      new Class<?>[] {MongoDatabase.class}, new DatabaseHandler(name, registry));
+    }
+
+    /**
+     * MongoDatabase proxy
+     */
+    private final class DatabaseHandler implements InvocationHandler {
+        private final String name;
+        private final CodecRegistry registry;
+
+        DatabaseHandler(String name, CodecRegistry registry) {
+            this.name = name;
+            this.registry = registry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object[] a = args == null ? new Object[0] : args;
+            switch (method.getName()) {
+                case "toString":
+                    return "MemoryDatabase[" + name + "]";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == a[0];
+                case "getName":
+                    return name;
+                case "getCodecRegistry":
+                    return registry;
+                case "getReadPreference":
+                    return ReadPreference.primary();
+                case "getWriteConcern":
+                    return WriteConcern.ACKNOWLEDGED;
+                case "getReadConcern":
+                    return ReadConcern.DEFAULT;
+                case "withCodecRegistry":
+                    return database(name, (CodecRegistry) a[0]);
+                case "withReadPreference":
+                case "withWriteConcern":
+                case "withReadConcern":
+                    return proxy;
+                case "getCollection": {
+                    Class<?> documentClass = a.length > 1 ? (Class<?>) a[1] : Document.class;
+                    return MemoryCollection.view(InMemoryMongoClient.this, name, (String) a[0], documentClass, registry);
+                }
+                case "createCollection":
+                    collection(name, (String) a[0]);
+                    return null;
+                case "listCollectionNames":
+                    return MemoryIterable.create(MongoIterable.class, query -> collectionNames(name), value -> value,
+                                                 registry);
+                case "listCollections":
+                    return MemoryIterable.create(ListCollectionsIterable.class, query -> {
+                        List<Document> infos = new ArrayList<>();
+                        for (String collection : collectionNames(name)) {
+                            infos.add(new Document("name", collection).append("type", "collection"));
+                        }
+                        return infos;
+                    }, value -> value, registry);
+                case "drop":
+                    databases.remove(name);
+                    return null;
+                case "runCommand": {
+                    Document result = runCommand(MemoryDocuments.fromBson((Bson) a[0], registry));
+                    Class<?> resultClass = a[a.length - 1] instanceof Class ? (Class<?>) a[a.length - 1] : Document.class;
+                    return MemoryDocuments.toObject(result, resultClass, registry);
+                }
+                case "watch":
+                    throw DocumentMatcher.unsupported("change streams");
+                default:
+                    if (a.length > 0 && a[0] instanceof com.mongodb.client.ClientSession) {
+                        throw DocumentMatcher.unsupported("client sessions");
+                    }
+                    return invokeDefault(proxy, method, args);
+            }
+        }
+
+        private Document runCommand(Document command) {
+            String commandName = command.keySet().iterator().next();
+            switch (commandName) {
+                case "ping":
+                case "hello":
+                case "isMaster":
+                    return new Document("ok", 1.0);
+                case "buildInfo":
+                    return new Document("version", "in-memory").append("ok", 1.0);
+                case "replSetGetStatus":
+                    return new Document("set", "memory").append("myState", 1)
+                        .append("members", Collections.singletonList(
+                            new Document("_id", 0).append("name", new ServerAddress().toString())
+                                                  .append("stateStr", "PRIMARY").append("health", 1.0)))
+                        .append("ok", 1.0);
+                case "createIndexes": {
+                    MemoryCollection collection = collection(name, command.getString("createIndexes"));
+                    for (Object index : command.getList("indexes", Object.class)) {
+                        Document spec = (Document) index;
+                        collection.createIndex(spec.get("key", Document.class), spec);
+                    }
+                    return new Document("ok", 1.0);
+                }
+                case "dropDatabase":
+                    databases.remove(name);
+                    return new Document("ok", 1.0);
+                case "explain":
+                    return explain(command.get("explain", Document.class));
+                default:
+                    throw new MongoCommandException(
+                        new BsonDocument("ok", new BsonInt32(0))
+                            .append("errmsg", new BsonString("no such command: '" + commandName + "'"))
+                            .append("code", new BsonInt32(59)),
+                        new ServerAddress());
+            }
+        }
+
+        // Coarse plan: IXSCAN when an index leads with a filtered field, otherwise COLLSCAN
+        private Document explain(Document explained) {
+            String collectionName = explained.containsKey("find")
+                ? explained.getString("find") : explained.getString("aggregate");
+            Document filter = explained.get("filter", new Document());
+            if (explained.get("pipeline") instanceof List && !((List<?>) explained.get("pipeline")).isEmpty()) {
+                Object first = ((List<?>) explained.get("pipeline")).get(0);
+                if (first instanceof Document && ((Document) first).get("$match") instanceof Document) {
+                    filter = ((Document) first).get("$match", Document.class);
+                }
+            }
+            MemoryCollection collection = existingCollection(name, collectionName);
+            long returned = collection.count(filter);
+            boolean indexed = collection.hasIndexFor(filter);
+            long examined = indexed ? returned : collection.count(new Document());
+            return new Document("queryPlanner", new Document("winningPlan",
+                                    new Document("stage", indexed ? "FETCH" : "COLLSCAN")
+                                        .append("inputStage", new Document("stage", indexed ? "IXSCAN" : "COLLSCAN"))))
+                .append("executionStats", new Document("nReturned", returned).append("totalDocsExamined", examined))
+                .append("ok", 1.0);
+        }
+    }
+}
@@ -0,0 +1,506 @@
+package com.framework.database.memory;
+
+import org.bson.Document;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Aggregation pipeline evaluation for the in-memory backend
+ *
+ * Stages: $match, $project, $addFields/$set, $unset, $group, $sort, $skip,
+ * $limit, $count, $unwind, $bucketAuto and $out.
+ * Accumulators: $sum, $avg, $min, $max, $first, $last, $push, $addToSet, $count.
+ * Expressions: field paths, literals, $add, $subtract, $multiply, $divide,
+ * $mod, $concat, $toLower, $toUpper, $ifNull, $cond, comparisons, $size, $literal.
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+final class MemoryAggregation {
+
+    private MemoryAggregation() {
+    }
+
+    // outTarget resolves (database, collection) for $out; null database means the source database
+    static List<Document> run(List<Document> input, List<Document> pipeline,
+                              BiFunction<String, String, MemoryCollection> outTarget) {
+        List<Document> documents = input;
+        for (Document stage : pipeline) {
+            if (stage.size() != 1) {
+                throw new IllegalArgumentException("Pipeline stage must have exactly one field: " + stage.toJson());
+            }
+            String name = stage.keySet().iterator().next();
+            Object spec = stage.get(name);
+            switch (name) {
+                case "$match":
+                    documents = filter(documents, (Document) spec);
+                    break;
+                case "$project":
+                    documents = project(documents, (Document) spec);
+                    break;
+                case "$addFields":
+                case "$set":
+                    documents = addFields(documents, (Document) spec);
+                    break;
+                case "$unset":
+                    documents = unset(documents, spec);
+                    break;
+                case "$group":
+                    documents = group(documents, (Document) spec);
+                    break;
+                case "$sort":
+                    documents = sort(documents, (Document) spec);
+                    break;
+                case "$skip":
+                    documents = documents.subList(Math.min(documents.size(), ((Number) spec).intValue()), documents.size());
+                    break;
+                case "$limit":
+                    documents = documents.subList(0, Math.min(documents.size(), ((Number) spec).intValue()));
+                    break;
+                case "$count":
+                    documents = documents.isEmpty()
+                        ? Collections.emptyList()
+                        : Collections.singletonList(new Document((String) spec, documents.size()));
+                    break;
+                case "$unwind":
+                    documents = unwind(documents, spec);
+                    break;
+                case "$bucketAuto":
+                    documents = bucketAuto(documents, (Document) spec);
+                    break;
+                case "$out":
+                    out(documents, spec, outTarget);
+                    documents = Collections.emptyList();
+                    break;
+                default:
+                    throw DocumentMatcher.unsupported("aggregation stage " + name);
+            }
+        }
+        return documents;
+    }
+
+    private static List<Document> filter(List<Document> documents, Document filter) {
+        List<Document> matched = new ArrayList<>();
+        for (Document document : documents) {
+            if (DocumentMatcher.matches(document, filter)) {
+                matched.add(document);
+            }
+        }
+        return matched;
+    }
+
+    static List<Document> project(List<Document> documents, Document spec) {
+        // {_id: 1} alone is an inclusion; {_id: 0} alone or only falsy fields is an exclusion
+        boolean exclusion = spec.entrySet().stream()
+            .filter(entry -> !"_id".equals(entry.getKey()))
+            .allMatch(entry -> isFalse(entry.getValue()))
+            && (spec.size() > 1 || isFalse(spec.get("_id")));
+        List<Document> projected = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            Document result;
+            if (exclusion) {
+                result = MemoryDocuments.copy(document);
+                spec.forEach((field, value) -> {
+                    if (isFalse(value)) removePath(result, field);
+                });
+            } else {
+                result = new Document();
+                if (!isFalse(spec.get("_id", (Object) 1)) && document.containsKey("_id")) {
+                    result.put("_id", document.get("_id"));
+                }
+                for (Map.Entry<String, Object> entry : spec.entrySet()) {
+                    String field = entry.getKey();
+                    if ("_id".equals(field)) {
+                        if (!isFalse(entry.getValue()) && !isTrue(entry.getValue())) {
+                            result.put("_id", evaluate(entry.getValue(), document));
+                        }
+                        continue;
+                    }
+                    if (isTrue(entry.getValue())) {
+                        if (DocumentMatcher.isPresent(document, field)) {
+                            setPath(result, field, DocumentMatcher.get(document, field));
+                        }
+                    } else {
+                        setPath(result, field, evaluate(entry.getValue(), document));
+                    }
+                }
+            }
+            projected.add(result);
+        }
+        return projected;
+    }
+
+    private static List<Document> addFields(List<Document> documents, Document spec) {
+        List<Document> results = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            Document result = MemoryDocuments.copy(document);
+            spec.forEach((field, expression) -> setPath(result, field, evaluate(expression, document)));
+            results.add(result);
+        }
+        return results;
+    }
+
+    private static List<Document> unset(List<Document> documents, Object spec) {
+        List<?> fields = spec instanceof List ? (List<?>) spec : Collections.singletonList(spec);
+        List<Document> results = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            Document result = MemoryDocuments.copy(document);
+            fields.forEach(field -> removePath(result, (String) field));
+            results.add(result);
+        }
+        return results;
+    }
+
+    private static List<Document> group(List<Document> documents, Document spec) {
+        Object idExpression = spec.get("_id");
+        Map<String, Object> keys = new LinkedHashMap<>();
+        Map<String, List<Document>> groups = new LinkedHashMap<>();
+        for (Document document : documents) {
+            Object key = evaluate(idExpression, document);
+            String groupKey = MemoryDocuments.toBsonValue(key).toString();
+            keys.putIfAbsent(groupKey, key);
+            groups.computeIfAbsent(groupKey, k -> new ArrayList<>()).add(document);
+        }
+
+        List<Document> results = new ArrayList<>(groups.size());
+        for (Map.Entry<String, List<Document>> entry : groups.entrySet()) {
+            Document result = new Document("_id", keys.get(entry.getKey()));
+            for (Map.Entry<String, Object> field : spec.entrySet()) {
+                if ("_id".equals(field.getKey())) continue;
+                result.put(field.getKey(), accumulate((Document) field.getValue(), entry.getValue()));
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    private static Object accumulate(Document accumulator, List<Document> documents) {
+        String operator = accumulator.keySet().iterator().next();
+        Object expression = accumulator.get(operator);
+        List<Object> values = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            values.add(evaluate(expression, document));
+        }
+        switch (operator) {
+            case "$sum": {
+                Object total = 0;
+                for (Object value : values) {
+                    if (DocumentMatcher.isNumber(value)) total = Arithmetic.add(total, value);
+                }
+                return total;
+            }
+            case "$count":
+                return documents.size();
+            case "$avg": {
+                double sum = 0;
+                int count = 0;
+                for (Object value : values) {
+                    if (DocumentMatcher.isNumber(value)) {
+                        sum += DocumentMatcher.toBigDecimal(value).doubleValue();
+                        count++;
+                    }
+                }
+                return count == 0 ? null : sum / count;
+            }
+            case "$min":
+                return values.stream().filter(value -> value != null)
+                    .min(DocumentMatcher::compare).orElse(null);
+            case "$max":
+                return values.stream().filter(value -> value != null)
+                    .max(DocumentMatcher::compare).orElse(null);
+            case "$first":
+                return values.isEmpty() ? null : values.get(0);
+            case "$last":
+                return values.isEmpty() ? null : values.get(values.size() - 1);
+            case "$push":
+                return values;
+            case "$addToSet": {
+                List<Object> set = new ArrayList<>();
+                for (Object value : values) {
+                    if (set.stream().noneMatch(existing -> DocumentMatcher.valuesEqual(existing, value))) {
+                        set.add(value);
+                    }
+                }
+                return set;
+            }
+            default:
+                throw DocumentMatcher.unsupported("accumulator " + operator);
+        }
+    }
+
+    static List<Document> sort(List<Document> documents, Document spec) {
+        List<Document> sorted = new ArrayList<>(documents);
+        sorted.sort(comparator(spec));
+        return sorted;
+    }
+
+    static Comparator<Document> comparator(Document spec) {
+        Comparator<Document> comparator = (a, b) -> 0;
+        for (Map.Entry<String, Object> entry : spec.entrySet()) {
+            String field = entry.getKey();
+            int direction = ((Number) entry.getValue()).intValue() < 0 ? -1 : 1;
+            comparator = comparator.thenComparing((a, b) ->
+                direction * DocumentMatcher.compare(DocumentMatcher.get(a, field), DocumentMatcher.get(b, field)));
+        }
+        return comparator;
+    }
+
+    private static List<Document> unwind(List<Document> documents, Object spec) {
+        String path = spec instanceof Document ? ((Document) spec).getString("path") : (String) spec;
+        boolean preserveEmpty = spec instanceof Document
+            && Boolean.TRUE.equals(((Document) spec).getBoolean("preserveNullAndEmptyArrays"));
+        String field = path.substring(1);
+        List<Document> results = new ArrayList<>();
+        for (Document document : documents) {
+            Object value = DocumentMatcher.get(document, field);
+            if (value instanceof List && !((List<?>) value).isEmpty()) {
+                for (Object element : (List<?>) value) {
+                    Document copy = MemoryDocuments.copy(document);
+                    setPath(copy, field, element);
+                    results.add(copy);
+                }
+            } else if (value != null && !(value instanceof List)) {
+                results.add(document);
+            } else if (preserveEmpty) {
+                Document copy = MemoryDocuments.copy(document);
+                removePath(copy, field);
+                results.add(copy);
+            }
+        }
+        return results;
+    }
+
+    // Equal-count buckets over the groupBy values (boundaries never split identical values)
+    private static List<Document> bucketAuto(List<Document> documents, Document spec) {
+        Object groupBy = spec.get("groupBy");
+        int buckets = ((Number) spec.get("buckets")).intValue();
+        List<Object> values = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            values.add(evaluate(groupBy, document));
+        }
+        values.sort(DocumentMatcher::compare);
+
+        List<Document> results = new ArrayList<>();
+        int perBucket = (int) Math.ceil(values.size() / (double) Math.max(1, buckets));
+        int start = 0;
+        while (start < values.size()) {
+            int end = Math.min(values.size(), start + perBucket);
+            while (end < values.size() && DocumentMatcher.compare(values.get(end), values.get(end - 1)) == 0) {
+                end++;
+            }
+            Object max = end < values.size() ? values.get(end) : values.get(end - 1);
+            results.add(new Document("_id", new Document("min", values.get(start)).append("max", max))
+                            .append("count", end - start));
+            start = end;
+        }
+        return results;
+    }
+
+    private static void out(List<Document> documents, Object spec, BiFunction<String, String, MemoryCollection> outTarget) {
+        MemoryCollection target;
+        if (spec instanceof Document) {
+            target = outTarget.apply(((Document) spec).getString("db"), ((Document) spec).getString("coll"));
+        } else {
+            target = outTarget.apply(null, (String) spec);
+        }
+        target.replaceContents(documents);
+    }
+
+    static Object evaluate(Object expression, Document document) {
+        if (expression instanceof String) {
+            String value = (String) expression;
+            if ("$$ROOT".equals(value)) return document;
+            if (value.startsWith("$$ROOT.")) return DocumentMatcher.get(document, value.substring(7));
+            if (value.startsWith("$")) return DocumentMatcher.get(document, value.substring(1));
+            return value;
+        }
+        if (expression instanceof List) {
+            List<Object> values = new ArrayList<>();
+            for (Object element : (List<?>) expression) {
+                values.add(evaluate(element, document));
+            }
+            return values;
+        }
+        if (!(expression instanceof Document)) {
+            return expression;
+        }
+        Document spec = (Document) expression;
+        if (!DocumentMatcher.isOperatorDocument(spec)) {
+            Document result = new Document();
+            spec.forEach((field, value) -> result.put(field, evaluate(value, document)));
+            return result;
+        }
+
+        String operator = spec.keySet().iterator().next();
+        Object operand = spec.get(operator);
+        if ("$literal".equals(operator)) {
+            return operand;
+        }
+        List<Object> args = new ArrayList<>();
+        if (operand instanceof List) {
+            for (Object arg : (List<?>) operand) {
+                args.add(evaluate(arg, document));
+            }
+        } else {
+            args.add(evaluate(operand, document));
+        }
+
+        switch (operator) {
+            case "$add": {
+                Object total = 0;
+                for (Object arg : args) {
+                    if (arg == null) return null;
+                    total = Arithmetic.add(total, arg);
+                }
+                return total;
+            }
+            case "$multiply": {
+                Object product = 1;
+                for (Object arg : args) {
+                    if (arg == null) return null;
+                    product = Arithmetic.multiply(product, arg);
+                }
+                return product;
+            }
+            case "$subtract":
+                return args.contains(null) ? null : Arithmetic.subtract(args.get(0), args.get(1));
+            case "$divide":
+                return args.contains(null) ? null
+                    : DocumentMatcher.toBigDecimal(args.get(0)).doubleValue() / DocumentMatcher.toBigDecimal(args.get(1)).doubleValue();
+            case "$mod":
+                return args.contains(null) ? null : Arithmetic.mod(args.get(0), args.get(1));
+            case "$concat": {
+                StringBuilder builder = new StringBuilder();
+                for (Object arg : args) {
+                    if (arg == null) return null;
+                    builder.append(arg);
+                }
+                return builder.toString();
+            }
+            case "$toLower":
+                return args.get(0) == null ? "" : args.get(0).toString().toLowerCase();
+            case "$toUpper":
+                return args.get(0) == null ? "" : args.get(0).toString().toUpperCase();
+            case "$ifNull":
+                return args.stream().filter(arg -> arg != null).findFirst().orElse(null);
+            case "$cond": {
+                if (operand instanceof Document) {
+                    Document cond = (Document) operand;
+                    return isTruthy(evaluate(cond.get("if"), document))
+                        ? evaluate(cond.get("then"), document) : evaluate(cond.get("else"), document);
+                }
+                return isTruthy(args.get(0)) ? args.get(1) : args.get(2);
+            }
+            case "$eq":
+                return DocumentMatcher.compare(args.get(0), args.get(1)) == 0;
+            case "$ne":
+                return DocumentMatcher.compare(args.get(0), args.get(1)) != 0;
+            case "$gt":
+                return DocumentMatcher.compare(args.get(0), args.get(1)) > 0;
+            case "$gte":
+                return DocumentMatcher.compare(args.get(0), args.get(1)) >= 0;
+            case "$lt":
+                return DocumentMatcher.compare(args.get(0), args.get(1)) < 0;
+            case "$lte":
+                return DocumentMatcher.compare(args.get(0), args.get(1)) <= 0;
+            case "$size":
+                return args.get(0) instanceof List ? ((List<?>) args.get(0)).size() : null;
+            default:
+                throw DocumentMatcher.unsupported("expression operator " + operator);
+        }
+    }
+
+    static void setPath(Document document, String path, Object value) {
+        String[] parts = path.split("\\.");
+        Document node = document;
+        for (int i = 0; i < parts.length - 1; i++) {
+            Object child = node.get(parts[i]);
+            if (!(child instanceof Document)) {
+                child = new Document();
+                node.put(parts[i], child);
+            }
+            node = (Document) child;
+        }
+        node.put(parts[parts.length - 1], value);
+    }
+
+    static void removePath(Document document, String path) {
+        String[] parts = path.split("\\.");
+        Object node = document;
+        for (int i = 0; i < parts.length - 1; i++) {
+            if (!(node instanceof Document)) return;
+            node = ((Document) node).get(parts[i]);
+        }
+        if (node instanceof Document) {
+            ((Document) node).remove(parts[parts.length - 1]);
+        }
+    }
+
+    private static boolean isTruthy(Object value) {
+        if (value == null) return false;
+        if (value instanceof Boolean) return (Boolean) value;
+        if (DocumentMatcher.isNumber(value)) return DocumentMatcher.toBigDecimal(value).signum() != 0;
+        return true;
+    }
+
+    private static boolean isFalse(Object value) {
+        return Boolean.FALSE.equals(value) || (value instanceof Number && ((Number) value).intValue() == 0);
+    }
+
+    private static boolean isTrue(Object value) {
+        return Boolean.TRUE.equals(value) || (value instanceof Number && ((Number) value).intValue() != 0);
+    }
+
+    /**
+     * Numeric arithmetic that keeps int32/int64/double result types like the server
+     */
+    static final class Arithmetic {
+        private Arithmetic() {
+        }
+
+        static Object add(Object a, Object b) {
+            if (isIntegral(a) && isIntegral(b)) {
+                return narrow(Math.addExact(((Number) a).longValue(), ((Number) b).longValue()), a, b);
+            }
+            return DocumentMatcher.toBigDecimal(a).doubleValue() + DocumentMatcher.toBigDecimal(b).doubleValue();
+        }
+
+        static Object subtract(Object a, Object b) {
+            if (isIntegral(a) && isIntegral(b)) {
+                return narrow(Math.subtractExact(((Number) a).longValue(), ((Number) b).longValue()), a, b);
+            }
+            return DocumentMatcher.toBigDecimal(a).doubleValue() - DocumentMatcher.toBigDecimal(b).doubleValue();
+        }
+
+        static Object multiply(Object a, Object b) {
+            if (isIntegral(a) && isIntegral(b)) {
+                return narrow(Math.multiplyExact(((Number) a).longValue(), ((Number) b).longValue()), a, b);
+            }
+            return DocumentMatcher.toBigDecimal(a).doubleValue() * DocumentMatcher.toBigDecimal(b).doubleValue();
+        }
+
+        static Object mod(Object a, Object b) {
+            if (isIntegral(a) && isIntegral(b)) {
+                return narrow(((Number) a).longValue() % ((Number) b).longValue(), a, b);
+            }
+            return DocumentMatcher.toBigDecimal(a).doubleValue() % DocumentMatcher.toBigDecimal(b).doubleValue();
+        }
+
+        private static boolean isIntegral(Object value) {
+            return value instanceof Integer || value instanceof Long;
+        }
+
+        // int32 op int32 stays int32 unless it overflows; anything involving int64 is int64
+        private static Object narrow(long result, Object a, Object b) {
+            if (a instanceof Integer && b instanceof Integer && result >= Integer.MIN_VALUE && result <= Integer.MAX_VALUE) {
+                return (int) result;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,805 @@
+package com.framework.database.memory;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoNamespace;
+import com.mongodb.MongoWriteException;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.ServerAddress;
+import com.mongodb.WriteConcern;
+import com.mongodb.WriteError;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteInsert;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.DistinctIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteManyModel;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.FindOneAndDeleteOptions;
+import com.mongodb.client.model.FindOneAndReplaceOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.RenameCollectionOptions;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateManyModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.InsertManyResult;
+import com.mongodb.client.result.InsertOneResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Document store for one in-memory collection plus the MongoCollection view over it
+ *
+ * Features:
+ * - insert/find/update/replace/delete/count/distinct and the findOneAnd* family
+ * - Update operators $set, $unset, $inc, $mul, $min, $max, $push, $addToSet,
+ *   $pull, $rename, $setOnInsert and $currentDate, with upsert
+ * - Unique indexes (including _id) enforced with E11000 duplicate key errors, through
+ *   a hash map per index so inserts stay O(1) as the collection grows
+ * - Ordered and unordered bulkWrite with per-request error reporting
+ * - Aggregation through MemoryAggregation
+ *
+ * All operations on a collection are serialised on the store, so concurrent
+ * writers (e.g. BulkWriter batches) see the same atomicity the server gives
+ * single-document writes.
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+final class MemoryCollection {
+    private static final int DUPLICATE_KEY = 11000;
+    private static final ServerAddress ADDRESS = new ServerAddress();
+
+    private final InMemoryMongoClient client;
+    private final String databaseName;
+    // Reassigned by renameCollection; only used in error messages
+    private volatile String name;
+    private final List<Document> documents = new ArrayList<>();
+    private final List<Document> indexes = new ArrayList<>();
+    // Unique index name -> DocumentMatcher.hashKey of the indexed values -> stored document
+    private final Map<String, Map<Object, Document>> uniqueKeys = new HashMap<>();
+
+    MemoryCollection(InMemoryMongoClient client, String databaseName, String name) {
+        this.client = client;
+        this.databaseName = databaseName;
+        this.name = name;
+        indexes.add(new Document("v", 2).append("key", new Document("_id", 1)).append("name", "_id_"));
+        uniqueKeys.put("_id_", new HashMap<>());
+    }
+
+    String getName() {
+        return name;
+    }
+
+    void rename(String newName) {
+        this.name = newName;
+    }
+
+    // ---------------------------------------------------------------- store operations
+
+    synchronized List<Document> query(Document filter, Document sort, int skip, int limit, Document projection) {
+        List<Document> results = new ArrayList<>();
+        for (Document document : documents) {
+            if (DocumentMatcher.matches(document, filter)) {
+                results.add(document);
+            }
+        }
+        if (sort != null && !sort.isEmpty()) {
+            results = MemoryAggregation.sort(results, sort);
+        }
+        int from = Math.min(results.size(), Math.max(0, skip));
+        int to = limit > 0 ? Math.min(results.size(), from + limit) : results.size();
+        List<Document> page = new ArrayList<>(to - from);
+        for (Document document : results.subList(from, to)) {
+            page.add(MemoryDocuments.copy(document));
+        }
+        if (projection != null && !projection.isEmpty()) {
+            page = MemoryAggregation.project(page, projection);
+        }
+        return page;
+    }
+
+    synchronized long count(Document filter) {
+        return documents.stream().filter(document -> DocumentMatcher.matches(document, filter)).count();
+    }
+
+    synchronized List<Document> snapshot() {
+        List<Document> copies = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            copies.add(MemoryDocuments.copy(document));
+        }
+        return copies;
+    }
+
+    synchronized Object insert(Document document) {
+        // The server always stores _id as the first field
+        Document stored = new Document("_id", document.containsKey("_id") ? document.get("_id") : new ObjectId());
+        stored.putAll(MemoryDocuments.copy(document));
+        checkUnique(stored, null);
+        documents.add(stored);
+        addKeys(stored);
+        return stored.get("_id");
+    }
+
+    synchronized long delete(Document filter, boolean multi) {
+        long removed = 0;
+        for (Iterator<Document> iterator = documents.iterator(); iterator.hasNext(); ) {
+            Document document = iterator.next();
+            if (DocumentMatcher.matches(document, filter)) {
+                iterator.remove();
+                removeKeys(document);
+                removed++;
+                if (!multi) break;
+            }
+        }
+        return removed;
+    }
+
+    // Returns {matched, modified, upsertedId}; replacement is used instead of update when non-null
+    synchronized UpdateOutcome update(Document filter, Document update, Document replacement, boolean multi,
+                                      boolean upsert) {
+        UpdateOutcome outcome = new UpdateOutcome();
+        for (int i = 0; i < documents.size(); i++) {
+            Document current = documents.get(i);
+            if (!DocumentMatcher.matches(current, filter)) continue;
+            outcome.matched++;
+            Document updated = replacement != null
+                ? replace(current, replacement)
+                : applyUpdate(MemoryDocuments.copy(current), update, false);
+            if (!MemoryDocuments.toBsonDocument(updated).equals(MemoryDocuments.toBsonDocument(current))) {
+                checkUnique(updated, current);
+                documents.set(i, updated);
+                removeKeys(current);
+                addKeys(updated);
+                outcome.modified++;
+            }
+            outcome.before = current;
+            outcome.after = updated;
+            if (!multi) break;
+        }
+        if (outcome.matched == 0 && upsert) {
+            Document seed = equalityFields(filter);
+            Document inserted = replacement != null ? replace(seed, replacement) : applyUpdate(seed, update, true);
+            outcome.upsertedId = insert(inserted);
+            outcome.after = documents.get(documents.size() - 1);
+        }
+        return outcome;
+    }
+
+    synchronized void replaceContents(List<Document> replacement) {
+        documents.clear();
+        uniqueKeys.values().forEach(Map::clear);
+        for (Document document : replacement) {
+            insert(document);
+        }
+    }
+
+    synchronized String createIndex(Document keys, Document options) {
+        String indexName = options.getString("name");
+        if (indexName == null) {
+            indexName = keys.entrySet().stream()
+                .map(entry -> entry.getKey() + "_" + entry.getValue())
+                .collect(Collectors.joining("_"));
+        }
+        for (Document index : indexes) {
+            if (index.getString("name").equals(indexName)) {
+                return indexName;
+            }
+        }
+        Document index = new Document("v", 2).append("key", keys).append("name", indexName);
+        options.forEach((option, value) -> {
+            if (!"name".equals(option) && !"key".equals(option) && !"v".equals(option) && !"ns".equals(option)) {
+                index.put(option, value);
+            }
+        });
+        if (index.getBoolean("unique", false)) {
+            Map<Object, Document> entries = new HashMap<>();
+            for (Document document : documents) {
+                List<Object> key = keyOf(document, keys);
+                if (entries.putIfAbsent(DocumentMatcher.hashKey(key), document) != null) {
+                    throw duplicateKey(index, key);
+                }
+            }
+            uniqueKeys.put(indexName, entries);
+        }
+        indexes.add(index);
+        return indexName;
+    }
+
+    synchronized List<Document> listIndexes() {
+        List<Document> copies = new ArrayList<>(indexes.size());
+        for (Document index : indexes) {
+            copies.add(MemoryDocuments.copy(index));
+        }
+        return copies;
+    }
+
+    synchronized void dropIndex(String indexName) {
+        if ("*".equals(indexName)) {
+            indexes.removeIf(index -> !"_id_".equals(index.getString("name")));
+            uniqueKeys.keySet().removeIf(index -> !"_id_".equals(index));
+            return;
+        }
+        if ("_id_".equals(indexName) || !indexes.removeIf(index -> index.getString("name").equals(indexName))) {
+            throw new IllegalArgumentException("index not found with name [" + indexName + "]");
+        }
+        uniqueKeys.remove(indexName);
+    }
+
+    synchronized String indexNameFor(Document keys) {
+        for (Document index : indexes) {
+            if (MemoryDocuments.toBsonDocument(index.get("key", Document.class)).equals(MemoryDocuments.toBsonDocument(keys))) {
+                return index.getString("name");
+            }
+        }
+        throw new IllegalArgumentException("can't find index with key: " + keys.toJson());
+    }
+
+    // Leading key fields of indexes usable for this filter, for the explain stub
+    synchronized boolean hasIndexFor(Document filter) {
+        for (Document index : indexes) {
+            String leading = index.get("key", Document.class).keySet().iterator().next();
+            if (filter.containsKey(leading)) return true;
+        }
+        return false;
+    }
+
+    // replacing is the stored document being updated; matching its own key is not a duplicate
+    private void checkUnique(Document candidate, Document replacing) {
+        for (Document index : indexes) {
+            Map<Object, Document> entries = uniqueKeys.get(index.getString("name"));
+            if (entries == null) continue;
+            List<Object> key = keyOf(candidate, index.get("key", Document.class));
+            Document existing = entries.get(DocumentMatcher.hashKey(key));
+            if (existing != null && existing != replacing) {
+                throw duplicateKey(index, key);
+            }
+        }
+    }
+
+    private void addKeys(Document document) {
+        for (Document index : indexes) {
+            Map<Object, Document> entries = uniqueKeys.get(index.getString("name"));
+            if (entries != null) {
+                entries.put(DocumentMatcher.hashKey(keyOf(document, index.get("key", Document.class))), document);
+            }
+        }
+    }
+
+    private void removeKeys(Document document) {
+        for (Document index : indexes) {
+            Map<Object, Document> entries = uniqueKeys.get(index.getString("name"));
+            if (entries != null) {
+                entries.remove(DocumentMatcher.hashKey(keyOf(document, index.get("key", Document.class))), document);
+            }
+        }
+    }
+
+    private MongoWriteException duplicateKey(Document index, List<Object> key) {
+        Document duplicate = new Document();
+        int position = 0;
+        for (String field : index.get("key", Document.class).keySet()) {
+            duplicate.put(field, key.get(position++));
+        }
+        return new MongoWriteException(new WriteError(DUPLICATE_KEY,
+            "E11000 duplicate key error collection: " + databaseName + "." + name
+            + " index: " + index.getString("name") + " dup key: " + duplicate.toJson(),
+            new BsonDocument()), ADDRESS);
+    }
+
+    private static List<Object> keyOf(Document document, Document keys) {
+        List<Object> values = new ArrayList<>(keys.size());
+        for (String field : keys.keySet()) {
+            values.add(DocumentMatcher.get(document, field));
+        }
+        return values;
+    }
+
+    private static Document replace(Document current, Document replacement) {
+        Document result = new Document();
+        if (current.containsKey("_id")) {
+            result.put("_id", current.get("_id"));
+        }
+        replacement.forEach((field, value) -> {
+            if (!"_id".equals(field) || !result.containsKey("_id")) {
+                result.put(field, value);
+            }
+        });
+        return MemoryDocuments.copy(result);
+    }
+
+    // Upserts start from the filter's top-level equality conditions
+    private static Document equalityFields(Document filter) {
+        Document seed = new Document();
+        filter.forEach((field, condition) -> {
+            if (field.startsWith("$")) return;
+            if (!DocumentMatcher.isOperatorDocument(condition)) {
+                MemoryAggregation.setPath(seed, field, condition);
+            } else if (((Document) condition).containsKey("$eq")) {
+                MemoryAggregation.setPath(seed, field, ((Document) condition).get("$eq"));
+            }
+        });
+        return seed;
+    }
+
+    @SuppressWarnings("unchecked")
+    static Document applyUpdate(Document target, Document update, boolean inserting) {
+        for (Map.Entry<String, Object> entry : update.entrySet()) {
+            String operator = entry.getKey();
+            if (!operator.startsWith("$")) {
+                throw new IllegalArgumentException("Invalid BSON field name " + operator
+                                                   + " (update documents must only contain operators)");
+            }
+            Document fields = (Document) entry.getValue();
+            for (Map.Entry<String, Object> field : fields.entrySet()) {
+                String path = field.getKey();
+                Object value = field.getValue();
+                Object current = DocumentMatcher.get(target, path);
+                switch (operator) {
+                    case "$set":
+                        MemoryAggregation.setPath(target, path, value);
+                        break;
+                    case "$setOnInsert":
+                        if (inserting) MemoryAggregation.setPath(target, path, value);
+                        break;
+                    case "$unset":
+                        MemoryAggregation.removePath(target, path);
+                        break;
+                    case "$inc":
+                        MemoryAggregation.setPath(target, path,
+                            current == null ? value : MemoryAggregation.Arithmetic.add(current, value));
+                        break;
+                    case "$mul":
+                        MemoryAggregation.setPath(target, path,
+                            current == null ? MemoryAggregation.Arithmetic.multiply(0, value)
+                                            : MemoryAggregation.Arithmetic.multiply(current, value));
+                        break;
+                    case "$min":
+                        if (current == null || DocumentMatcher.compare(value, current) < 0) {
+                            MemoryAggregation.setPath(target, path, value);
+                        }
+                        break;
+                    case "$max":
+                        if (current == null || DocumentMatcher.compare(value, current) > 0) {
+                            MemoryAggregation.setPath(target, path, value);
+                        }
+                        break;
+                    case "$currentDate":
+                        MemoryAggregation.setPath(target, path, new Date());
+                        break;
+                    case "$rename":
+                        if (DocumentMatcher.isPresent(target, path)) {
+                            MemoryAggregation.removePath(target, path);
+                            MemoryAggregation.setPath(target, (String) value, current);
+                        }
+                        break;
+                    case "$push":
+                    case "$addToSet": {
+                        List<Object> array = current == null ? new ArrayList<>() : new ArrayList<>((List<Object>) current);
+                        List<Object> additions = value instanceof Document && ((Document) value).containsKey("$each")
+                            ? (List<Object>) ((Document) value).get("$each")
+                            : Collections.singletonList(value);
+                        for (Object addition : additions) {
+                            if ("$push".equals(operator)
+                                || array.stream().noneMatch(existing -> DocumentMatcher.valuesEqual(existing, addition))) {
+                                array.add(addition);
+                            }
+                        }
+                        MemoryAggregation.setPath(target, path, array);
+                        break;
+                    }
+                    case "$pull": {
+                        if (!(current instanceof List)) break;
+                        List<Object> array = new ArrayList<>((List<Object>) current);
+                        array.removeIf(element -> value instanceof Document
+                            ? (DocumentMatcher.isOperatorDocument(value)
+                                ? DocumentMatcher.matches(new Document("v", element), new Document("v", value))
+                                : element instanceof Document && DocumentMatcher.matches((Document) element, (Document) value))
+                            : DocumentMatcher.valuesEqual(element, value));
+                        MemoryAggregation.setPath(target, path, array);
+                        break;
+                    }
+                    default:
+                        throw DocumentMatcher.unsupported("update operator " + operator);
+                }
+            }
+        }
+        return target;
+    }
+
+    static final class UpdateOutcome {
+        long matched;
+        long modified;
+        Object upsertedId;
+        Document before;
+        Document after;
+
+        UpdateResult toResult() {
+            return UpdateResult.acknowledged(matched, modified,
+                upsertedId == null ? null : MemoryDocuments.toBsonValue(upsertedId));
+        }
+    }
+
+    // ---------------------------------------------------------------- driver-facing view
+
+    static <T> MongoCollection<T> view(InMemoryMongoClient client, String databaseName, String name,
+                                       Class<T> documentClass, CodecRegistry registry) {
+        View handler = new View(client, databaseName, name, documentClass, registry);
+        @SuppressWarnings("unchecked")
+        MongoCollection<T> proxy = (MongoCollection<T>) Proxy.newProxyInstance(
+            MemoryCollection.class.getClassLoader(), new Class<?>[] {MongoCollection.class}, handler);
+        return proxy;
+    }
+
+    /**
+     * MongoCollection proxy; resolves the store on each call so drop() and re-create behave like the server.
+     * Writes create the collection (store()); reads and non-upserting updates/deletes do not (readStore()).
+     */
+    private static final class View implements InvocationHandler {
+        private final InMemoryMongoClient client;
+        private final String databaseName;
+        private final String name;
+        private final Class<?> documentClass;
+        private final CodecRegistry registry;
+
+        View(InMemoryMongoClient client, String databaseName, String name, Class<?> documentClass,
+             CodecRegistry registry) {
+            this.client = client;
+            this.databaseName = databaseName;
+            this.name = name;
+            this.documentClass = documentClass;
+            this.registry = registry;
+        }
+
+        private MemoryCollection store() {
+            return client.collection(databaseName, name);
+        }
+
+        private MemoryCollection readStore() {
+            return client.existingCollection(databaseName, name);
+        }
+
+        private MemoryCollection store(boolean creates) {
+            return creates ? store() : readStore();
+        }
+
+        private Document bson(Object value) {
+            return MemoryDocuments.fromBson((Bson) value, registry);
+        }
+
+        private Document document(Object value) {
+            return MemoryDocuments.fromObject(value, registry);
+        }
+
+        private Object decode(Document document, Class<?> type) {
+            return document == null ? null : MemoryDocuments.toObject(document, type, registry);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object[] a = args == null ? new Object[0] : args;
+            if (a.length > 0 && a[0] instanceof ClientSession) {
+                throw DocumentMatcher.unsupported("client sessions");
+            }
+            Class<?>[] types = method.getParameterTypes();
+            switch (method.getName()) {
+                case "toString":
+                    return "MemoryCollection[" + databaseName + "." + name + "]";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == a[0];
+                case "getNamespace":
+                    return new MongoNamespace(databaseName, name);
+                case "getDocumentClass":
+                    return documentClass;
+                case "getCodecRegistry":
+                    return registry;
+                case "getReadPreference":
+                    return ReadPreference.primary();
+                case "getWriteConcern":
+                    return WriteConcern.ACKNOWLEDGED;
+                case "getReadConcern":
+                    return ReadConcern.DEFAULT;
+                case "withDocumentClass":
+                    return view(client, databaseName, name, (Class<?>) a[0], registry);
+                case "withCodecRegistry":
+                    return view(client, databaseName, name, documentClass, (CodecRegistry) a[0]);
+                case "withReadPreference":
+                case "withWriteConcern":
+                case "withReadConcern":
+                case "withTimeout":
+                    return proxy;
+                case "countDocuments":
+                    return readStore().count(a.length > 0 ? bson(a[0]) : new Document());
+                case "estimatedDocumentCount":
+                    return readStore().count(new Document());
+                case "find":
+                    return find(a, types);
+                case "aggregate":
+                    return aggregate(a);
+                case "distinct":
+                    return distinct(a);
+                case "insertOne":
+                    return InsertOneResult.acknowledged(MemoryDocuments.toBsonValue(insertOne(a[0])));
+                case "insertMany": {
+                    Map<Integer, BsonValue> ids = new HashMap<>();
+                    List<?> values = (List<?>) a[0];
+                    for (int i = 0; i < values.size(); i++) {
+                        ids.put(i, MemoryDocuments.toBsonValue(insertOne(values.get(i))));
+                    }
+                    return InsertManyResult.acknowledged(ids);
+                }
+                case "deleteOne":
+                    return DeleteResult.acknowledged(readStore().delete(bson(a[0]), false));
+                case "deleteMany":
+                    return DeleteResult.acknowledged(readStore().delete(bson(a[0]), true));
+                case "updateOne":
+                case "updateMany": {
+                    if (a[1] instanceof List) throw DocumentMatcher.unsupported("pipeline updates");
+                    boolean upsert = a.length > 2 && a[2] != null && ((UpdateOptions) a[2]).isUpsert();
+                    return store(upsert).update(bson(a[0]), bson(a[1]), null, "updateMany".equals(method.getName()), upsert)
+                        .toResult();
+                }
+                case "replaceOne": {
+                    boolean upsert = a.length > 2 && a[2] != null && ((ReplaceOptions) a[2]).isUpsert();
+                    return store(upsert).update(bson(a[0]), null, document(a[1]), false, upsert).toResult();
+                }
+                case "findOneAndDelete":
+                    return findOneAndDelete(a);
+                case "findOneAndUpdate":
+                    if (a[1] instanceof List) throw DocumentMatcher.unsupported("pipeline updates");
+                    return findOneAndModify(bson(a[0]), bson(a[1]), null, a.length > 2 ? (FindOneAndUpdateOptions) a[2] : null);
+                case "findOneAndReplace": {
+                    FindOneAndUpdateOptions options = new FindOneAndUpdateOptions();
+                    if (a.length > 2 && a[2] != null) {
+                        FindOneAndReplaceOptions replaceOptions = (FindOneAndReplaceOptions) a[2];
+                        options.upsert(replaceOptions.isUpsert()).returnDocument(replaceOptions.getReturnDocument())
+                               .sort(replaceOptions.getSort()).projection(replaceOptions.getProjection());
+                    }
+                    return findOneAndModify(bson(a[0]), null, document(a[1]), options);
+                }
+                case "bulkWrite":
+                    return bulkWrite((List<?>) a[0], a.length < 2 || a[1] == null || ((BulkWriteOptions) a[1]).isOrdered());
+                case "createIndex":
+                    return createIndex(bson(a[0]), a.length > 1 ? (IndexOptions) a[1] : new IndexOptions());
+                case "createIndexes": {
+                    List<String> names = new ArrayList<>();
+                    for (Object model : (List<?>) a[0]) {
+                        names.add(createIndex(bson(((IndexModel) model).getKeys()), ((IndexModel) model).getOptions()));
+                    }
+                    return names;
+                }
+                case "listIndexes": {
+                    Class<?> resultClass = a.length > 0 ? (Class<?>) a[0] : Document.class;
+                    return MemoryIterable.create(ListIndexesIterable.class, query -> readStore().listIndexes(),
+                                                 value -> decode((Document) value, resultClass), registry);
+                }
+                case "dropIndex":
+                    readStore().dropIndex(a[0] instanceof String ? (String) a[0] : readStore().indexNameFor(bson(a[0])));
+                    return null;
+                case "dropIndexes":
+                    readStore().dropIndex("*");
+                    return null;
+                case "drop":
+                    client.dropCollection(databaseName, name);
+                    return null;
+                case "renameCollection": {
+                    MongoNamespace target = (MongoNamespace) a[0];
+                    if (!databaseName.equals(target.getDatabaseName())) {
+                        throw DocumentMatcher.unsupported("renameCollection across databases");
+                    }
+                    boolean dropTarget = a.length > 1 && a[1] != null && ((RenameCollectionOptions) a[1]).isDropTarget();
+                    client.renameCollection(databaseName, name, target.getCollectionName(), dropTarget);
+                    return null;
+                }
+                case "watch":
+                    throw DocumentMatcher.unsupported("change streams");
+                default:
+                    throw DocumentMatcher.unsupported("MongoCollection." + method.getName()
+                                                      + "(" + types.length + " args)");
+            }
+        }
+
+        // Mirrors the driver: a missing _id is generated and written back into the caller's document
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object insertOne(Object value) {
+            Codec codec = registry.get(value.getClass());
+            if (codec instanceof CollectibleCodec && !((CollectibleCodec) codec).documentHasId(value)) {
+                ((CollectibleCodec) codec).generateIdIfAbsentFromDocument(value);
+            }
+            return store().insert(document(value));
+        }
+
+        private Object find(Object[] a, Class<?>[] types) {
+            Class<?> resultClass = documentClass;
+            Document filter = new Document();
+            for (int i = 0; i < a.length; i++) {
+                if (types[i] == Class.class) resultClass = (Class<?>) a[i];
+                else filter = bson(a[i]);
+            }
+            Class<?> type = resultClass;
+            FindIterable<?> iterable = MemoryIterable.create(FindIterable.class,
+                query -> readStore().query(query.filter, query.sort, query.skip, query.limit, query.projection),
+                value -> decode((Document) value, type), registry);
+            return iterable.filter(filter);
+        }
+
+        private Object aggregate(Object[] a) {
+            List<Document> pipeline = MemoryDocuments.fromBsonList(castList(a[0]), registry);
+            Class<?> resultClass = a.length > 1 ? (Class<?>) a[1] : documentClass;
+            return MemoryIterable.create(AggregateIterable.class,
+                query -> MemoryAggregation.run(readStore().snapshot(), pipeline,
+                    (db, collection) -> client.collection(db == null ? databaseName : db, collection)),
+                value -> decode((Document) value, resultClass), registry);
+        }
+
+        private Object distinct(Object[] a) {
+            String field = (String) a[0];
+            Document filter = a.length > 2 ? bson(a[1]) : new Document();
+            Class<?> resultClass = (Class<?>) a[a.length - 1];
+            return MemoryIterable.create(DistinctIterable.class, query -> {
+                List<Object> values = new ArrayList<>();
+                Document combined = query.filter.isEmpty() ? filter : new Document("$and", List.of(filter, query.filter));
+                for (Document document : readStore().query(combined, null, 0, 0, null)) {
+                    Object value = DocumentMatcher.get(document, field);
+                    List<?> elements = value instanceof List ? (List<?>) value : Collections.singletonList(value);
+                    for (Object element : elements) {
+                        if (element != null && values.stream().noneMatch(existing -> DocumentMatcher.valuesEqual(existing, element))) {
+                            values.add(element);
+                        }
+                    }
+                }
+                return values;
+            }, value -> resultClass.cast(value), registry);
+        }
+
+        private Object findOneAndDelete(Object[] a) {
+            FindOneAndDeleteOptions options = a.length > 1 && a[1] != null ? (FindOneAndDeleteOptions) a[1]
+                                                                         : new FindOneAndDeleteOptions();
+            MemoryCollection store = readStore();
+            synchronized (store) {
+                List<Document> found = store.query(bson(a[0]), sortOf(options.getSort()), 0, 1, null);
+                if (found.isEmpty()) return null;
+                store.delete(new Document("_id", found.get(0).get("_id")), false);
+                return decode(project(found.get(0), options.getProjection()), documentClass);
+            }
+        }
+
+        private Object findOneAndModify(Document filter, Document update, Document replacement,
+                                        FindOneAndUpdateOptions options) {
+            FindOneAndUpdateOptions effective = options == null ? new FindOneAndUpdateOptions() : options;
+            MemoryCollection store = store(effective.isUpsert());
+            synchronized (store) {
+                List<Document> found = store.query(filter, sortOf(effective.getSort()), 0, 1, null);
+                Document target = found.isEmpty() ? filter : new Document("_id", found.get(0).get("_id"));
+                UpdateOutcome outcome = store.update(target, update, replacement, false, effective.isUpsert());
+                Document result = effective.getReturnDocument() == ReturnDocument.AFTER ? outcome.after : outcome.before;
+                if (outcome.upsertedId != null && effective.getReturnDocument() == ReturnDocument.BEFORE) {
+                    result = null;
+                }
+                return result == null ? null : decode(project(MemoryDocuments.copy(result), effective.getProjection()), documentClass);
+            }
+        }
+
+        private Document sortOf(Bson sort) {
+            return sort == null ? null : bson(sort);
+        }
+
+        private Document project(Document document, Bson projection) {
+            return projection == null ? document
+                : MemoryAggregation.project(Collections.singletonList(document), bson(projection)).get(0);
+        }
+
+        private String createIndex(Document keys, IndexOptions options) {
+            Document spec = new Document();
+            if (options.getName() != null) spec.put("name", options.getName());
+            if (options.isUnique()) spec.put("unique", true);
+            if (options.isSparse()) spec.put("sparse", true);
+            if (options.getExpireAfter(java.util.concurrent.TimeUnit.SECONDS) != null) {
+                spec.put("expireAfterSeconds", options.getExpireAfter(java.util.concurrent.TimeUnit.SECONDS));
+            }
+            if (options.getPartialFilterExpression() != null) {
+                spec.put("partialFilterExpression", bson(options.getPartialFilterExpression()));
+            }
+            return store().createIndex(keys, spec);
+        }
+
+        private BulkWriteResult bulkWrite(List<?> requests, boolean ordered) {
+            MemoryCollection store = store();
+            int inserted = 0;
+            int matched = 0;
+            int modified = 0;
+            int deleted = 0;
+            List<BulkWriteInsert> inserts = new ArrayList<>();
+            List<BulkWriteUpsert> upserts = new ArrayList<>();
+            List<BulkWriteError> errors = new ArrayList<>();
+
+            for (int i = 0; i < requests.size(); i++) {
+                WriteModel<?> model = (WriteModel<?>) requests.get(i);
+                try {
+                    if (model instanceof InsertOneModel) {
+                        Object id = insertOne(((InsertOneModel<?>) model).getDocument());
+                        inserts.add(new BulkWriteInsert(i, MemoryDocuments.toBsonValue(id)));
+                        inserted++;
+                    } else if (model instanceof DeleteOneModel) {
+                        deleted += store.delete(bson(((DeleteOneModel<?>) model).getFilter()), false);
+                    } else if (model instanceof DeleteManyModel) {
+                        deleted += store.delete(bson(((DeleteManyModel<?>) model).getFilter()), true);
+                    } else {
+                        UpdateOutcome outcome;
+                        if (model instanceof UpdateOneModel) {
+                            UpdateOneModel<?> update = (UpdateOneModel<?>) model;
+                            if (update.getUpdate() == null) throw DocumentMatcher.unsupported("pipeline updates");
+                            outcome = store.update(bson(update.getFilter()), bson(update.getUpdate()), null, false,
+                                                   update.getOptions().isUpsert());
+                        } else if (model instanceof UpdateManyModel) {
+                            UpdateManyModel<?> update = (UpdateManyModel<?>) model;
+                            if (update.getUpdate() == null) throw DocumentMatcher.unsupported("pipeline updates");
+                            outcome = store.update(bson(update.getFilter()), bson(update.getUpdate()), null, true,
+                                                   update.getOptions().isUpsert());
+                        } else if (model instanceof ReplaceOneModel) {
+                            ReplaceOneModel<?> replace = (ReplaceOneModel<?>) model;
+                            outcome = store.update(bson(replace.getFilter()), null, document(replace.getReplacement()),
+                                                   false, replace.getReplaceOptions().isUpsert());
+                        } else {
+                            throw DocumentMatcher.unsupported("write model " + model.getClass().getSimpleName());
+                        }
+                        matched += (int) outcome.matched;
+                        modified += (int) outcome.modified;
+                        if (outcome.upsertedId != null) {
+                            upserts.add(new BulkWriteUpsert(i, MemoryDocuments.toBsonValue(outcome.upsertedId)));
+                        }
+                    }
+                } catch (MongoWriteException e) {
+                    errors.add(new BulkWriteError(e.getError().getCode(), e.getError().getMessage(),
+                                                  e.getError().getDetails(), i));
+                    if (ordered) break;
+                }
+            }
+
+            BulkWriteResult result = BulkWriteResult.acknowledged(inserted, matched, deleted, modified, upserts, inserts);
+            if (!errors.isEmpty()) {
+                throw new MongoBulkWriteException(result, errors, null, ADDRESS, Collections.emptySet());
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static List<? extends Bson> castList(Object value) {
+            return (List<? extends Bson>) value;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.framework.database.memory;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conversions between driver-facing types and the backend's internal Document form
+ *
+ * Everything is normalised through BSON so stored documents are deep copies
+ * with exactly the value types the real server would return.
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+final class MemoryDocuments {
+    static final CodecRegistry DEFAULT_REGISTRY = MongoClientSettings.getDefaultCodecRegistry();
+
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+    private static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().build();
+
+    private MemoryDocuments() {
+    }
+
+    // Filters, updates, sorts and pipeline stages built with Filters/Updates/Aggregates or Document
+    static Document fromBson(Bson bson, CodecRegistry registry) {
+        if (bson == null) {
+            return new Document();
+        }
+        return fromBsonDocument(bson.toBsonDocument(BsonDocument.class, registry));
+    }
+
+    static List<Document> fromBsonList(List<? extends Bson> list, CodecRegistry registry) {
+        List<Document> documents = new ArrayList<>(list.size());
+        for (Bson bson : list) {
+            documents.add(fromBson(bson, registry));
+        }
+        return documents;
+    }
+
+    // Any document class with a registered codec (Document, RawBsonDocument, POJOs)
+    @SuppressWarnings("unchecked")
+    static <T> Document fromObject(T value, CodecRegistry registry) {
+        Codec<T> codec = (Codec<T>) registry.get(value.getClass());
+        BsonDocument bsonDocument = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(bsonDocument), value, ENCODER_CONTEXT);
+        return fromBsonDocument(bsonDocument);
+    }
+
+    static <T> T toObject(Document document, Class<T> type, CodecRegistry registry) {
+        BsonDocument bsonDocument = toBsonDocument(document);
+        if (type == BsonDocument.class) {
+            return type.cast(bsonDocument);
+        }
+        return registry.get(type).decode(new BsonDocumentReader(bsonDocument), DECODER_CONTEXT);
+    }
+
+    static Document copy(Document document) {
+        return fromBsonDocument(toBsonDocument(document));
+    }
+
+    static BsonDocument toBsonDocument(Document document) {
+        return document.toBsonDocument(BsonDocument.class, DEFAULT_REGISTRY);
+    }
+
+    static BsonValue toBsonValue(Object value) {
+        return toBsonDocument(new Document("v", value)).get("v");
+    }
+
+    private static Document fromBsonDocument(BsonDocument bsonDocument) {
+        return DEFAULT_REGISTRY.get(Document.class).decode(new BsonDocumentReader(bsonDocument), DECODER_CONTEXT);
+    }
+}
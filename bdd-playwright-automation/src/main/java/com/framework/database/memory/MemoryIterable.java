@@ -0,0 +1,180 @@
+package com.framework.database.memory;
+
+import com.mongodb.Function;
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoIterable;
+import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * List-backed implementation of the driver's iterable interfaces
+ * (FindIterable, AggregateIterable, ListIndexesIterable, MongoIterable, ...)
+ *
+ * Query modifiers (filter, sort, skip, limit, projection) are captured and
+ * handed to the source when results are requested. Tuning knobs the
+ * in-memory backend has no use for (batchSize, maxTime, hint, comment, ...)
+ * are accepted and ignored.
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+final class MemoryIterable implements InvocationHandler {
+
+    // Produces raw results for the captured query state
+    interface Source {
+        List<?> fetch(MemoryIterable query);
+    }
+
+    private final Class<?> iface;
+    private final Source source;
+    private final java.util.function.Function<Object, Object> mapper;
+    private final CodecRegistry registry;
+
+    Document filter = new Document();
+    Document sort;
+    Document projection;
+    int skip;
+    int limit;
+
+    private MemoryIterable(Class<?> iface, Source source, java.util.function.Function<Object, Object> mapper,
+                           CodecRegistry registry) {
+        this.iface = iface;
+        this.source = source;
+        this.mapper = mapper;
+        this.registry = registry;
+    }
+
+    static <T> T create(Class<T> iface, Source source, java.util.function.Function<Object, Object> mapper,
+                        CodecRegistry registry) {
+        MemoryIterable handler = new MemoryIterable(iface, source, mapper, registry);
+        return iface.cast(Proxy.newProxyInstance(MemoryIterable.class.getClassLoader(), new Class<?>[] {iface}, handler));
+    }
+
+    List<Object> results() {
+        List<?> raw = source.fetch(this);
+        List<Object> mapped = new ArrayList<>(raw.size());
+        for (Object value : raw) {
+            mapped.add(mapper.apply(value));
+        }
+        return mapped;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "toString":
+                return "MemoryIterable[" + iface.getSimpleName() + "]";
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "iterator":
+            case "cursor":
+                return new MemoryCursor<>(results());
+            case "first": {
+                List<Object> results = results();
+                return results.isEmpty() ? null : results.get(0);
+            }
+            case "into":
+                ((Collection<Object>) args[0]).addAll(results());
+                return args[0];
+            case "forEach":
+                results().forEach((Consumer<Object>) args[0]);
+                return null;
+            case "spliterator":
+                return results().spliterator();
+            case "map": {
+                Function<Object, Object> function = (Function<Object, Object>) args[0];
+                MemoryIterable mapped = new MemoryIterable(MongoIterable.class, query -> source.fetch(this),
+                                                           mapper.andThen(function::apply), registry);
+                return Proxy.newProxyInstance(MemoryIterable.class.getClassLoader(),
+                                              new Class<?>[] {MongoIterable.class}, mapped);
+            }
+            case "filter":
+                filter = MemoryDocuments.fromBson((Bson) args[0], registry);
+                return proxy;
+            case "sort":
+                sort = args[0] == null ? null : MemoryDocuments.fromBson((Bson) args[0], registry);
+                return proxy;
+            case "projection":
+                projection = args[0] == null ? null : MemoryDocuments.fromBson((Bson) args[0], registry);
+                return proxy;
+            case "skip":
+                skip = (Integer) args[0];
+                return proxy;
+            case "limit":
+                limit = (Integer) args[0];
+                return proxy;
+            case "toCollection":
+                source.fetch(this);
+                return null;
+            default:
+                if (method.getReturnType().isInstance(proxy)) {
+                    return proxy;
+                }
+                throw DocumentMatcher.unsupported(iface.getSimpleName() + "." + method.getName());
+        }
+    }
+
+    /**
+     * Cursor over an already materialised result list
+     */
+    static final class MemoryCursor<T> implements MongoCursor<T> {
+        private final List<T> results;
+        private int position;
+
+        MemoryCursor(List<T> results) {
+            this.results = results;
+        }
+
+        @Override
+        public void close() {
+            position = results.size();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < results.size();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return results.get(position++);
+        }
+
+        @Override
+        public int available() {
+            return results.size() - position;
+        }
+
+        @Override
+        public T tryNext() {
+            return hasNext() ? next() : null;
+        }
+
+        @Override
+        public ServerCursor getServerCursor() {
+            return null;
+        }
+
+        @Override
+        public ServerAddress getServerAddress() {
+            return new ServerAddress();
+        }
+    }
+}
@@ -1,15 +1,190 @@
 package com.framework.utils;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.restassured.mapper.ObjectMapperDeserializationContext;
+import io.restassured.mapper.ObjectMapperSerializationContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class JsonUtil {
-    private static final ObjectMapper mapper = new ObjectMapper();
+/**
+ * Shared JSON engine for the framework
+ *
+ * Features:
+ * - One pre-configured ObjectMapper (mapper()) used by the API client, stub
+ *   server, response cache and assertions
+ * - Blackbird module: property access through generated lambdas instead of reflection
+ * - ObjectReader/ObjectWriter built once per type and cached
+ * - String, byte[] and stream variants; toBytes/fromBytes skip the String
+ *   round trip for UTF-8 payloads
+ * - restAssuredMapper(): the same engine as RestAssured's object mapper
+ *   (registered by ApiClientPool), so request bodies such as UserRequest
+ *   and response.as(...) go through these cached writers and readers
+ *
+ * Unknown properties are ignored when reading, so models only need the
+ * fields a test uses. Failures are thrown as {@link JsonException} naming
+ * the type involved.
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public final class JsonUtil {
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+        .addModule(new BlackbirdModule())
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .build();
+
+    private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+    private static final Map<JavaType, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    private static final io.restassured.mapper.ObjectMapper REST_ASSURED_MAPPER = new RestAssuredMapper();
+
+    private JsonUtil() {
+    }
+
+    // The shared mapper; do not reconfigure it, readers and writers are derived from it
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
 
     public static String toJson(Object obj) {
         try {
-            return mapper.writeValueAsString(obj);
-        } catch (Exception e) {
-            throw new RuntimeException("JSON serialization error", e);
+            return writerFor(obj).writeValueAsString(obj);
+        } catch (IOException e) {
+            throw new JsonException("JSON serialization error for " + typeName(obj), e);
+        }
+    }
+
+    // UTF-8 encoded
+    public static byte[] toBytes(Object obj) {
+        try {
+            return writerFor(obj).writeValueAsBytes(obj);
+        } catch (IOException e) {
+            throw new JsonException("JSON serialization error for " + typeName(obj), e);
+        }
+    }
+
+    // Writes UTF-8 JSON to out and leaves it open
+    public static void writeTo(Object obj, OutputStream out) {
+        try {
+            writerFor(obj).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, obj);
+        } catch (IOException e) {
+            throw new JsonException("JSON serialization error for " + typeName(obj), e);
+        }
+    }
+
+    public static <T> T fromJson(String json, Class<T> type) {
+        try {
+            return readerFor(MAPPER.constructType(type)).readValue(json);
+        } catch (IOException e) {
+            throw new JsonException("JSON deserialization error for " + type.getName(), e);
+        }
+    }
+
+    public static <T> T fromJson(String json, TypeReference<T> type) {
+        JavaType javaType = MAPPER.constructType(type);
+        try {
+            return readerFor(javaType).readValue(json);
+        } catch (IOException e) {
+            throw new JsonException("JSON deserialization error for " + javaType, e);
+        }
+    }
+
+    public static <T> T fromBytes(byte[] json, Class<T> type) {
+        try {
+            return readerFor(MAPPER.constructType(type)).readValue(json);
+        } catch (IOException e) {
+            throw new JsonException("JSON deserialization error for " + type.getName(), e);
+        }
+    }
+
+    public static <T> T fromBytes(byte[] json, TypeReference<T> type) {
+        JavaType javaType = MAPPER.constructType(type);
+        try {
+            return readerFor(javaType).readValue(json);
+        } catch (IOException e) {
+            throw new JsonException("JSON deserialization error for " + javaType, e);
+        }
+    }
+
+    // Reads one value and closes the stream
+    public static <T> T fromStream(InputStream in, Class<T> type) {
+        try {
+            return readerFor(MAPPER.constructType(type)).readValue(in);
+        } catch (IOException e) {
+            throw new JsonException("JSON deserialization error for " + type.getName(), e);
+        }
+    }
+
+    // Iterates the elements of a top-level array (or concatenated values) one at a time; close when done
+    public static <T> MappingIterator<T> streamValues(InputStream in, Class<T> type) {
+        try {
+            return readerFor(MAPPER.constructType(type)).readValues(in);
+        } catch (IOException e) {
+            throw new JsonException("JSON deserialization error for " + type.getName(), e);
+        }
+    }
+
+    public static JsonNode readTree(byte[] json) {
+        try {
+            return MAPPER.readTree(json);
+        } catch (IOException e) {
+            throw new JsonException("JSON parse error", e);
+        }
+    }
+
+    public static io.restassured.mapper.ObjectMapper restAssuredMapper() {
+        return REST_ASSURED_MAPPER;
+    }
+
+    private static ObjectWriter writerFor(Object obj) {
+        return obj == null ? MAPPER.writer() : WRITERS.computeIfAbsent(obj.getClass(), MAPPER::writerFor);
+    }
+
+    private static ObjectReader readerFor(JavaType type) {
+        return READERS.computeIfAbsent(type, MAPPER::readerFor);
+    }
+
+    private static String typeName(Object obj) {
+        return obj == null ? "null" : obj.getClass().getName();
+    }
+
+    public static class JsonException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public JsonException(String message, Throwable cause) {
+            super(message + ": " + cause.getMessage(), cause);
+        }
+    }
+
+    // RestAssured treats anything but a String from a custom mapper as another object to serialize,
+    // so requests get a String it encodes with the request charset
+    private static final class RestAssuredMapper implements io.restassured.mapper.ObjectMapper {
+        @Override
+        public Object serialize(ObjectMapperSerializationContext context) {
+            return toJson(context.getObjectToSerialize());
+        }
+
+        @Override
+        public Object deserialize(ObjectMapperDeserializationContext context) {
+            JavaType type = MAPPER.constructType(context.getType());
+            try {
+                return readerFor(type).readValue(context.getDataToDeserialize().asByteArray());
+            } catch (IOException e) {
+                throw new JsonException("JSON deserialization error for " + type, e);
+            }
         }
     }
-}
\ No newline at end of file
+}
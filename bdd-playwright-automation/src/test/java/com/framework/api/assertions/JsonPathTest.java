@@ -0,0 +1,75 @@
+package com.framework.api.assertions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.framework.utils.JsonUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the minimal JSON path used by the response assertions
+ */
+class JsonPathTest {
+
+    private static List<String> select(String path, String json) {
+        JsonNode tree = JsonUtil.readTree(json.getBytes(StandardCharsets.UTF_8));
+        return JsonPath.parse(path).select(tree, 0).stream().map(JsonNode::asText).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Dotted fields, indexes and the $-less shorthand")
+    void testFieldsAndIndexes() {
+        assertTrue(JsonPath.parse("$.address.city").matchesAt(List.of("address", "city")));
+        assertTrue(JsonPath.parse("address.city").matchesAt(List.of("address", "city")));
+        assertTrue(JsonPath.parse("$.items[2].id").matchesAt(List.of("items", 2, "id")));
+        assertTrue(JsonPath.parse("[0].id").matchesAt(List.of(0, "id")));
+        assertTrue(JsonPath.parse("$").matchesAt(List.of()));
+        assertFalse(JsonPath.parse("$.items[2].id").matchesAt(List.of("items", 1, "id")));
+        assertFalse(JsonPath.parse("$.items[2]").matchesAt(List.of("items", "2")), "An index only matches array positions");
+    }
+
+    @Test
+    @DisplayName("Wildcards match any field or index; couldMatchBelow prunes unrelated subtrees")
+    void testWildcards() {
+        JsonPath names = JsonPath.parse("$.items[*].name");
+        assertTrue(names.matchesAt(List.of("items", 7, "name")));
+        assertTrue(names.couldMatchBelow(List.of("items")));
+        assertTrue(names.couldMatchBelow(List.of("items", 0)));
+        assertFalse(names.couldMatchBelow(List.of("other")));
+        assertFalse(names.couldMatchBelow(List.of("items", 0, "name")), "Nothing below a full match");
+        assertTrue(JsonPath.parse("$.*.city").matchesAt(List.of("home", "city")));
+    }
+
+    @Test
+    @DisplayName("Quoted keys may contain dots and spaces")
+    void testQuotedKeys() {
+        assertTrue(JsonPath.parse("$['odd key'].x").matchesAt(List.of("odd key", "x")));
+        assertTrue(JsonPath.parse("$[\"a.b\"]").matchesAt(List.of("a.b")));
+        assertEquals(List.of("1"), select("$['a.b']", "{\"a.b\": 1, \"a\": {\"b\": 2}}"));
+    }
+
+    @Test
+    @DisplayName("select walks parsed trees, including top-level arrays")
+    void testSelect() {
+        String users = "[{\"id\": 1, \"tags\": [\"x\"]}, {\"id\": 2, \"tags\": [\"y\", \"z\"]}]";
+        assertEquals(List.of("1", "2"), select("$[*].id", users));
+        assertEquals(List.of("2"), select("$[1].id", users));
+        assertEquals(List.of("x", "y", "z"), select("$[*].tags[*]", users));
+        assertEquals(List.of(), select("$[5].id", users));
+        assertEquals(List.of(), select("$.id", users), "A field name never matches inside an array");
+    }
+
+    @Test
+    @DisplayName("Unsupported syntax is rejected with the accepted forms")
+    void testInvalidPaths() {
+        for (String path : new String[] {"$..name", "$[abc]", "$[0", "$x", "$.a.", "$[?(@.id)]"}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> JsonPath.parse(path), path);
+            assertTrue(e.getMessage().contains(path), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.framework.api.assertions;
+
+import com.framework.api.stub.UserStubServer;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for byte-level and JSON-path response assertions
+ */
+class ResponseJsonAssertTest {
+
+    private static final String USER = "{\"id\": 1, \"name\": \"Leanne Graham\", \"odd key\": {\"x\": true},"
+        + " \"address\": {\"city\": \"Gwenborough\", \"geo\": {\"lat\": \"-37.3159\"}},"
+        + " \"items\": [{\"id\": 10, \"name\": \"a\"}, {\"id\": 11, \"name\": \"b\"}]}";
+
+    private static UserStubServer stub;
+
+    @BeforeAll
+    static void startStub() {
+        stub = UserStubServer.start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    // Without the pool's filter the body is still on the socket when the assert reads it
+    private static Response getUser(int id) {
+        return given().baseUri(stub.getBaseUri().toString()).when().get("/users/" + id);
+    }
+
+    private static ResponseJsonAssert of(String json) {
+        return ResponseJsonAssert.of(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Path expectations: fields, numbers by text, quoted keys and wildcards")
+    void testPathExpectations() {
+        of(USER)
+            .expectEquals("$.id", "1")
+            .expectEquals("address.city", "Gwenborough")
+            .expectEquals("$['odd key'].x", "true")
+            .expectEquals("$.items[*].name", "b")
+            .expectPath("$.items[*].id", id -> id.asInt() > 10, "is above 10")
+            .expectExists("$.address.geo")
+            .verify();
+    }
+
+    @Test
+    @DisplayName("Top-level arrays are addressed by index and wildcard")
+    void testTopLevelArray() {
+        of("[{\"id\": 1}, {\"id\": 2, \"name\": \"Ervin Howell\"}]")
+            .expectEquals("$[1].name", "Ervin Howell")
+            .expectEquals("[*].id", "2")
+            .expectContains("Ervin")
+            .verify();
+        AssertionError e = assertThrows(AssertionError.class, () -> of("[]").assertExists("$[0]"));
+        assertTrue(e.getMessage().contains("$[0] exists: no value at this path"), e.getMessage());
+    }
+
+    @Test
+    @DisplayName("verify() reports every failed expectation of a batch in one error")
+    void testBatchedFailures() {
+        ResponseJsonAssert assertion = of(USER)
+            .expectContains("Leanne")
+            .expectContains("Ervin")
+            .expectEquals("$.items[*].name", "c")
+            .expectEquals("$.address", "Gwenborough")
+            .expectExists("$.phone");
+        AssertionError e = assertThrows(AssertionError.class, assertion::verify);
+        String message = e.getMessage();
+        assertTrue(message.contains("body does not contain 'Ervin'"), message);
+        assertFalse(message.contains("'Leanne'"), message);
+        assertTrue(message.contains("$.items[*].name equals 'c': was [\"a\", \"b\"]"), message);
+        assertTrue(message.contains("$.address equals 'Gwenborough': was [{"), "Containers never equal text: " + message);
+        assertTrue(message.contains("$.phone exists: no value at this path"), message);
+
+        // The failed batch was cleared; later passes use the cached tree and agree with the token pass
+        assertion.verify();
+        assertion.expectEquals("$.items[*].name", "a").expectContains("Gwenborough").verify();
+        assertThrows(AssertionError.class, () -> assertion.assertEquals("$.items[*].name", "c"));
+    }
+
+    @Test
+    @DisplayName("Text written with JSON escapes is found through the tokenised fallback")
+    void testEscapedTextFallback() {
+        String escaped = "{\"city\": \"Caf\\u00e9 du Nord\", \"caf\\u00e9\": 1, \"quote\": \"say \\\"hi\\\"\"}";
+        of(escaped).expectContains("Café du Nord").expectContains("say \"hi\"").verify();
+        // Field names are searched as well, and the same holds once the tree is cached
+        ResponseJsonAssert assertion = of(escaped);
+        assertion.assertContains("café");
+        assertion.assertContains("Café");
+        assertThrows(AssertionError.class, () -> assertion.assertContains("Cafe"));
+
+        // Raw UTF-8 needs no fallback
+        of("{\"city\": \"Café\"}").assertContains("Café");
+    }
+
+    @Test
+    @DisplayName("Invalid JSON fails path checks but byte-level text checks still pass")
+    void testInvalidJson() {
+        of("not json").assertContains("not");
+        AssertionError e = assertThrows(AssertionError.class, () -> of("{\"a\": ").assertExists("$.a"));
+        assertTrue(e.getMessage().contains("not valid JSON"), e.getMessage());
+    }
+
+    @Test
+    @DisplayName("A response is verified in one pass over its stream and cannot be verified again")
+    void testStreamedResponseIsSingleUse() {
+        ResponseJsonAssert assertion = ResponseJsonAssert.of(getUser(1))
+            .expectContains("\"username\":\"Bret\"")
+            .expectContains("Leanne Graham")
+            .expectEquals("$.username", "Bret")
+            .expectEquals("$.email", "Sincere@april.biz");
+        assertion.verify();
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> assertion.assertExists("$.id"));
+        assertTrue(e.getMessage().contains("reusable"), e.getMessage());
+
+        AssertionError failure = assertThrows(AssertionError.class,
+            () -> ResponseJsonAssert.of(getUser(2)).expectEquals("$.username", "Bret").verify());
+        assertTrue(failure.getMessage().contains("was [\"Antonette\"]"), failure.getMessage());
+        assertTrue(failure.getMessage().contains("Body: {"), "The streamed preview is reported: " + failure.getMessage());
+    }
+
+    @Test
+    @DisplayName("A reusable response is parsed once and serves every later verification")
+    void testReusableResponse() {
+        ResponseJsonAssert assertion = ResponseJsonAssert.reusable(getUser(3));
+        assertion.assertEquals("$.id", "3");
+        assertion.assertContains("Clementine");
+        assertion.assertExists("$.email");
+        assertThrows(AssertionError.class, () -> assertion.assertEquals("$.id", "4"));
+    }
+
+    @Test
+    @DisplayName("The pass stops once every expectation passes, before reading the rest of the body")
+    void testStopsEarly() {
+        String truncated = "{\"id\": 1, \"name\": \"Leanne\", \"items\": [1, 2,";
+        of(truncated).expectEquals("$.id", "1").expectContains("Leanne").verify();
+        AssertionError e = assertThrows(AssertionError.class, () -> of(truncated).assertExists("$.phone"));
+        assertTrue(e.getMessage().contains("not valid JSON"), e.getMessage());
+    }
+}
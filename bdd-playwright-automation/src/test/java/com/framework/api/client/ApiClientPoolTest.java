@@ -0,0 +1,57 @@
+package com.framework.api.client;
+
+import com.framework.api.stub.UserStubServer;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for connection reuse and release in the shared API client pool
+ */
+class ApiClientPoolTest {
+
+    private static UserStubServer stub;
+
+    @BeforeAll
+    static void startStub() {
+        stub = UserStubServer.install();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    private static Response get(String path) {
+        return given().spec(ApiClientPool.getInstance().requestSpec()).when().get(path);
+    }
+
+    @Test
+    @DisplayName("Status-only checks on small bodies return every connection to the pool")
+    void testSmallBodiesAreReleased() {
+        ApiClientPool pool = ApiClientPool.getInstance();
+        assertEquals(stub.getBaseUri(), pool.getApiUri());
+        // More requests than connections per route: a leaked lease would block here
+        for (int i = 0; i < 50; i++) {
+            assertEquals(200, get("/users/" + (i % 10 + 1)).getStatusCode());
+        }
+        assertTrue(pool.poolStats().startsWith("[leased: 0;"), pool.poolStats());
+    }
+
+    @Test
+    @DisplayName("A buffered body stays readable and release() after reading is harmless")
+    void testReleaseAfterRead() {
+        Response response = get("/users/1");
+        String body = response.asString();
+        assertTrue(body.contains("\"id\""), body);
+        ApiClientPool.release(response);
+        ApiClientPool.release(response);
+        assertEquals(body, response.asString());
+        assertTrue(ApiClientPool.getInstance().poolStats().startsWith("[leased: 0;"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.framework.api.client;
+
+import com.framework.api.stub.UserStubServer;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the record/replay response cache against the in-process /users stub
+ */
+class ResponseCacheTest {
+
+    private static UserStubServer stub;
+
+    @TempDir
+    Path cacheRoot;
+
+    @BeforeAll
+    static void startStub() {
+        stub = UserStubServer.start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    private static Response get(ResponseCache cache, String path) {
+        return given().baseUri(stub.getBaseUri().toString()).filter(cache).when().get(path);
+    }
+
+    private void record(String path) {
+        ResponseCache recorder = new ResponseCache(ResponseCache.Mode.RECORD, cacheRoot, Duration.ofHours(1));
+        assertEquals(200, get(recorder, path).getStatusCode());
+        assertEquals(1, recorder.getMisses());
+    }
+
+    private List<Path> files(String directory) throws IOException {
+        try (Stream<Path> files = Files.list(cacheRoot.resolve(directory))) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("A recorded GET is replayed from disk without reaching the service")
+    void testRecordThenReplay() throws IOException {
+        record("/users/1");
+        String recorded = get(new ResponseCache(ResponseCache.Mode.OFF, cacheRoot, Duration.ZERO), "/users/1").asString();
+        assertEquals(1, files("requests").size());
+        assertEquals(1, files("bodies").size());
+
+        ResponseCache replay = new ResponseCache(ResponseCache.Mode.REPLAY, cacheRoot, Duration.ofHours(1));
+        long before = stub.getRequestCount();
+        Response response = get(replay, "/users/1");
+        assertEquals(200, response.getStatusCode());
+        assertEquals("HIT", response.getHeader("X-Cache"));
+        assertEquals(recorded, response.asString());
+        assertEquals(1, replay.getHits());
+        assertEquals(before, stub.getRequestCount(), "A fresh hit makes no network call");
+
+        // Other paths and methods still reach the service
+        assertEquals(200, get(replay, "/users/2").getStatusCode());
+        assertEquals(1, replay.getMisses());
+        given().baseUri(stub.getBaseUri().toString()).filter(replay).contentType("application/json")
+            .body("{\"name\": \"x\"}").post("/users").then().statusCode(201);
+        assertEquals(1, replay.getBypassed());
+    }
+
+    @Test
+    @DisplayName("A stale entry is revalidated with If-None-Match and a 304 serves the cached body")
+    void testExpiredEntryRevalidates() {
+        record("/users/3");
+        ResponseCache replay = new ResponseCache(ResponseCache.Mode.REPLAY, cacheRoot, Duration.ZERO);
+        long before = stub.getRequestCount();
+
+        Response response = get(replay, "/users/3");
+        assertEquals(200, response.getStatusCode());
+        assertEquals("HIT", response.getHeader("X-Cache"));
+        assertTrue(response.asString().contains("\"id\""), response.asString());
+        assertEquals(1, replay.getRevalidated());
+        assertEquals(0, replay.getHits());
+        assertEquals(0, replay.getMisses());
+        assertEquals(before + 1, stub.getRequestCount(), "Revalidation is one conditional request");
+        assertEquals(1.0, replay.getHitRatio());
+    }
+
+    @Test
+    @DisplayName("An unreadable entry is ignored: the request falls through to the service and is re-stored")
+    void testUnreadableEntryFallsThrough() throws IOException {
+        record("/users/4");
+        Path entry = files("requests").get(0);
+        Files.write(entry, "{not json".getBytes(StandardCharsets.UTF_8));
+
+        ResponseCache replay = new ResponseCache(ResponseCache.Mode.REPLAY, cacheRoot, Duration.ofHours(1));
+        long before = stub.getRequestCount();
+        Response response = get(replay, "/users/4");
+        assertEquals(200, response.getStatusCode());
+        assertNull(response.getHeader("X-Cache"));
+        assertEquals(1, replay.getMisses());
+        assertEquals(before + 1, stub.getRequestCount());
+
+        // The miss rewrote the entry, so a new cache instance replays it again
+        ResponseCache next = new ResponseCache(ResponseCache.Mode.REPLAY, cacheRoot, Duration.ofHours(1));
+        assertEquals("HIT", get(next, "/users/4").getHeader("X-Cache"));
+
+        // A missing body file is handled the same way
+        for (Path body : files("bodies")) {
+            Files.delete(body);
+        }
+        ResponseCache missingBody = new ResponseCache(ResponseCache.Mode.REPLAY, cacheRoot, Duration.ofHours(1));
+        assertEquals(200, get(missingBody, "/users/4").getStatusCode());
+        assertEquals(1, missingBody.getMisses());
+    }
+}
@@ -0,0 +1,102 @@
+package com.framework.api.load;
+
+import com.framework.api.client.UserClient;
+import com.framework.api.stub.UserStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the load generator against the in-process /users stub
+ */
+class LoadGeneratorTest {
+
+    private static UserStubServer stub;
+
+    @BeforeAll
+    static void startStub() {
+        stub = UserStubServer.install();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("A closed-model run issues exactly maxRequests calls across its users")
+    void testClosedModelRun() {
+        long before = stub.getRequestCount();
+        LoadReport report = LoadGenerator.closedModel(4, Duration.ofSeconds(10)).maxRequests(40)
+            .userEndpoints(new UserClient()).run();
+
+        assertEquals(40, report.getTotalRequests(), report.summary());
+        assertEquals(0, report.getTotalErrors(), report.summary());
+        assertEquals(40, stub.getRequestCount() - before);
+        report.getEndpoints().values().forEach(stats -> assertEquals(0, stats.getDropped()));
+        assertEquals(Set.of(200), report.getEndpoint("GET /users/{id}").getStatusCodes().keySet());
+        assertTrue(Set.of(201).containsAll(report.getEndpoint("POST /users").getStatusCodes().keySet()));
+    }
+
+    @Test
+    @DisplayName("An open-model run counts arrivals beyond maxInFlight as dropped")
+    void testOpenModelDropsBeyondMaxInFlight() {
+        stub.setLatency(Duration.ofMillis(200), Duration.ZERO);
+        try {
+            LoadReport report = LoadGenerator.openModel(200, Duration.ofSeconds(5)).maxRequests(20).maxInFlight(2)
+                .endpoint("GET /users/1", 1, () -> new UserClient().getUser(1)).run();
+            LoadReport.EndpointStats stats = report.getEndpoint("GET /users/1");
+            assertEquals(20, stats.getRequests() + stats.getDropped());
+            assertTrue(stats.getDropped() > 0, report.summary());
+            assertEquals(0, stats.getErrors(), report.summary());
+        } finally {
+            stub.setLatency(Duration.ZERO, Duration.ZERO);
+        }
+    }
+
+    @Test
+    @DisplayName("Without virtual threads the worker pool never exceeds its bound")
+    void testWorkerPoolIsBounded() throws InterruptedException {
+        ExecutorService executor = LoadGenerator.newWorkerExecutor(3);
+        try {
+            if (!(executor instanceof ThreadPoolExecutor)) {
+                return;
+            }
+            CountDownLatch release = new CountDownLatch(1);
+            for (int i = 0; i < 10; i++) {
+                executor.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            assertEquals(3, ((ThreadPoolExecutor) executor).getPoolSize());
+            assertEquals(7, ((ThreadPoolExecutor) executor).getQueue().size());
+            release.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid settings are rejected up front")
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> LoadGenerator.closedModel(0, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> LoadGenerator.openModel(10, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> LoadGenerator.openModel(10, Duration.ofSeconds(1)).maxInFlight(0));
+        assertThrows(IllegalStateException.class, () -> LoadGenerator.closedModel(1, Duration.ofSeconds(1)).run());
+    }
+}
@@ -1,17 +1,27 @@
 package com.framework.api.stepdefs;
 
+import com.framework.api.assertions.ResponseJsonAssert;
+import com.framework.api.client.ApiClientPool;
 import com.framework.api.client.UserClient;
+import com.framework.api.load.LoadGenerator;
+import com.framework.api.load.LoadReport;
 import com.framework.api.model.UserRequest;
+import io.cucumber.java.After;
 import io.cucumber.java.en.*;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.Assertions;
 
+import java.time.Duration;
+
 public class ApiSteps {
     private final UserClient userClient = new UserClient();
     private Response response;
+    private ResponseJsonAssert body;
+    private LoadReport loadReport;
 
     @When("I get user with id {int}")
     public void i_get_user_with_id(Integer id) {
+        releaseResponse();
         response = userClient.getUser(id);
     }
 
@@ -22,12 +32,57 @@ public class ApiSteps {
 
     @And("the API response contains {string}")
     public void the_api_response_contains(String expected) {
-        Assertions.assertTrue(response.getBody().asString().contains(expected));
+        body().assertContains(expected);
+    }
+
+    @And("the API response field {string} is {string}")
+    public void the_api_response_field_is(String path, String expected) {
+        body().assertEquals(path, expected);
     }
 
     @When("I create a new user with name {string} username {string} and email {string}")
     public void i_create_a_new_user_with_name_username_and_email(String name, String username, String email) {
         UserRequest req = new UserRequest(name, username, email);
+        releaseResponse();
         response = userClient.createUser(req);
     }
-}
\ No newline at end of file
+
+    @When("I replay user requests at {int} requests per second for {int} seconds")
+    public void i_replay_user_requests_at_a_fixed_rate(Integer rate, Integer seconds) {
+        loadReport = LoadGenerator.openModel(rate, Duration.ofSeconds(seconds)).userEndpoints(userClient).run();
+    }
+
+    @When("I replay user requests with {int} concurrent users for {int} seconds")
+    public void i_replay_user_requests_with_concurrent_users(Integer users, Integer seconds) {
+        loadReport = LoadGenerator.closedModel(users, Duration.ofSeconds(seconds)).userEndpoints(userClient).run();
+    }
+
+    @Then("the load error rate is below {double} percent")
+    public void the_load_error_rate_is_below(Double percent) {
+        Assertions.assertTrue(loadReport.getErrorRate() < percent, loadReport.summary());
+    }
+
+    @And("the p95 latency of {string} is below {int} ms")
+    public void the_p95_latency_is_below(String endpoint, Integer millis) {
+        double p95 = loadReport.getEndpoint(endpoint).getLatency().getPercentileMillis(95);
+        Assertions.assertTrue(p95 < millis, endpoint + " p95 " + p95 + "ms: " + loadReport.summary());
+    }
+
+    // A body nobody asserted on keeps its pooled connection leased until it is read
+    @After
+    public void releaseResponse() {
+        if (response != null) {
+            ApiClientPool.release(response);
+            response = null;
+        }
+        body = null;
+    }
+
+    // Each step verifies separately, so keep one reusable assert per response and share its tree
+    private ResponseJsonAssert body() {
+        if (body == null) {
+            body = ResponseJsonAssert.reusable(response);
+        }
+        return body;
+    }
+}
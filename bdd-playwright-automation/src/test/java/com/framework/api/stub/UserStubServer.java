@@ -0,0 +1,264 @@
+package com.framework.api.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.framework.config.EnvironmentConfig;
+import com.framework.utils.JsonUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * In-process stub of the jsonplaceholder /users API
+ *
+ * Features:
+ * - GET /users lists every fixture, in file order
+ * - GET /users/{id} serves recorded fixtures (testdata/stubs/users.json); unknown ids get 404 {}
+ * - GET responses carry an ETag; a matching If-None-Match gets 304 Not Modified
+ * - POST /users echoes the JSON body with id 11 and status 201, like jsonplaceholder
+ * - Configurable latency injection (fixed + random jitter); delayed responses are
+ *   scheduled, not slept, so injected latency does not tie up server threads
+ * - install() points apiUrl at the stub and reloads the configuration, so
+ *   UserClient (via ApiClientPool) follows without code changes; close()
+ *   restores the previous apiUrl
+ *
+ * Lives with the tests because its fixtures are test resources.
+ *
+ * Configuration:
+ * - api.stub.enabled: start the stub for API suites (ApiStubHooks)
+ * - api.stub.port: listen port (default 0, an ephemeral port)
+ * - api.stub.latency / api.stub.jitter: injected latency (default none)
+ * - api.stub.threads: server worker threads (default 8)
+ *
+ * @author Framework Team
+ * @version 2.0
+ */
+public class UserStubServer implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(UserStubServer.class.getName());
+
+    private static final String FIXTURES = "testdata/stubs/users.json";
+    private static final byte[] NOT_FOUND = "{}".getBytes(StandardCharsets.UTF_8);
+    private static final int CREATED_ID = 11;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    static {
+        // The JDK server writes headers and body separately; without TCP_NODELAY,
+        // Nagle plus delayed ACKs add ~40ms to every keep-alive response
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final Map<Integer, byte[]> users;
+    private final byte[] userList;
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService delayer;
+    private final AtomicLong requestCount = new AtomicLong();
+    // Set by install(); the apiUrl system property to put back on close (null when it was unset)
+    private boolean installed;
+    private String previousApiUrl;
+    private volatile long latencyMicros;
+    private volatile long jitterMicros;
+
+    private UserStubServer(int port, int threads, Duration latency, Duration jitter) throws IOException {
+        this.users = loadFixtures();
+        this.userList = listOf(users);
+        setLatency(latency, jitter);
+        workers = Executors.newFixedThreadPool(threads, daemon("user-stub-server-"));
+        delayer = Executors.newSingleThreadScheduledExecutor(daemon("user-stub-delay-"));
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.setExecutor(workers);
+        server.createContext("/users", this::handle);
+        server.start();
+        LOGGER.info("User stub server listening on " + getBaseUri() + " with " + users.size() + " users");
+    }
+
+    public static UserStubServer start() {
+        try {
+            return new UserStubServer(EnvironmentConfig.getInt("api.stub.port", 0),
+                                      EnvironmentConfig.getInt("api.stub.threads", 8),
+                                      EnvironmentConfig.getDuration("api.stub.latency", Duration.ZERO),
+                                      EnvironmentConfig.getDuration("api.stub.jitter", Duration.ZERO));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start user stub server", e);
+        }
+    }
+
+    // Starts the stub and points apiUrl at it until close()
+    public static UserStubServer install() {
+        UserStubServer stub = start();
+        stub.installed = true;
+        stub.previousApiUrl = System.getProperty("apiUrl");
+        System.setProperty("apiUrl", stub.getBaseUri().toString());
+        EnvironmentConfig.reload();
+        return stub;
+    }
+
+    public URI getBaseUri() {
+        return URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort());
+    }
+
+    public void setLatency(Duration latency, Duration jitter) {
+        this.latencyMicros = TimeUnit.NANOSECONDS.toMicros(latency.toNanos());
+        this.jitterMicros = TimeUnit.NANOSECONDS.toMicros(jitter.toNanos());
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        delayer.shutdownNow();
+        workers.shutdownNow();
+        LOGGER.info("User stub server stopped after " + requestCount.get() + " requests");
+        if (installed) {
+            installed = false;
+            if (previousApiUrl == null) System.clearProperty("apiUrl");
+            else System.setProperty("apiUrl", previousApiUrl);
+            EnvironmentConfig.reload();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        int status;
+        byte[] body;
+        String etag = null;
+        boolean collection = "/users".equals(path) || "/users/".equals(path);
+        if ("GET".equals(method) && (collection || path.matches("/users/\\d{1,9}"))) {
+            body = collection ? userList : users.get(Integer.parseInt(path.substring("/users/".length())));
+            status = body == null ? 404 : 200;
+            if (body == null) {
+                body = NOT_FOUND;
+            } else {
+                etag = etagOf(body);
+                if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    status = 304;
+                }
+            }
+        } else if ("POST".equals(method) && collection) {
+            body = created(exchange.getRequestBody());
+            status = body == null ? 400 : 201;
+            if (body == null) body = NOT_FOUND;
+        } else {
+            drain(exchange.getRequestBody());
+            status = 404;
+            body = NOT_FOUND;
+        }
+
+        long delay = latencyMicros + (jitterMicros > 0 ? ThreadLocalRandom.current().nextLong(jitterMicros + 1) : 0);
+        if (delay <= 0) {
+            respond(exchange, status, body, etag);
+        } else {
+            int finalStatus = status;
+            byte[] finalBody = body;
+            String finalEtag = etag;
+            delayer.schedule(() -> workers.execute(() -> respond(exchange, finalStatus, finalBody, finalEtag)),
+                             delay, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    // null when the request body is not a JSON object
+    private static byte[] created(InputStream requestBody) {
+        try (InputStream in = requestBody) {
+            JsonNode request = JsonUtil.mapper().readTree(in);
+            if (request == null || !request.isObject()) {
+                return null;
+            }
+            ((ObjectNode) request).put("id", CREATED_ID);
+            return JsonUtil.toBytes(request);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body, String etag) {
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            if (etag != null) {
+                exchange.getResponseHeaders().set("ETag", etag);
+            }
+            if (status == 304) {
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(status, body.length);
+            out.write(body);
+        } catch (IOException e) {
+            LOGGER.fine("Stub response failed: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Weak validator from the fixture bytes; stable for as long as the fixture is unchanged
+    private static String etagOf(byte[] body) {
+        return "W/\"" + Integer.toHexString(Arrays.hashCode(body)) + "\"";
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        try (InputStream body = in) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    // Each fixture is pre-serialized once, so a GET is a map lookup and a write
+    private static Map<Integer, byte[]> loadFixtures() throws IOException {
+        try (InputStream in = UserStubServer.class.getClassLoader().getResourceAsStream(FIXTURES)) {
+            if (in == null) {
+                throw new IOException(FIXTURES + " not found on the classpath");
+            }
+            Map<Integer, byte[]> users = new LinkedHashMap<>();
+            for (JsonNode user : JsonUtil.mapper().readTree(in)) {
+                users.put(user.path("id").asInt(), JsonUtil.toBytes(user));
+            }
+            return Collections.unmodifiableMap(users);
+        }
+    }
+
+    // The list body is the pre-serialized fixtures joined into one array
+    private static byte[] listOf(Map<Integer, byte[]> users) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('[');
+        for (byte[] user : users.values()) {
+            if (out.size() > 1) out.write(',');
+            out.writeBytes(user);
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,165 @@
+package com.framework.api.stub;
+
+import com.framework.config.EnvironmentConfig;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the /users stub: its endpoints, ETags, latency injection and
+ * how it installs itself into the configuration
+ */
+class UserStubServerTest {
+
+    private static UserStubServer shared;
+    private String previousApiUrl;
+
+    @BeforeAll
+    static void startSharedStub() {
+        shared = UserStubServer.start();
+    }
+
+    @AfterAll
+    static void stopSharedStub() {
+        shared.close();
+    }
+
+    private static RequestSpecification request() {
+        return given().baseUri(shared.getBaseUri().toString());
+    }
+
+    @BeforeEach
+    void rememberApiUrl() {
+        previousApiUrl = System.getProperty("apiUrl");
+    }
+
+    @AfterEach
+    void restoreApiUrl() {
+        if (previousApiUrl == null) System.clearProperty("apiUrl");
+        else System.setProperty("apiUrl", previousApiUrl);
+        EnvironmentConfig.reload();
+    }
+
+    @Test
+    @DisplayName("close() restores an apiUrl system property that install() replaced")
+    void testCloseRestoresPreviousApiUrl() {
+        System.setProperty("apiUrl", "http://before.example");
+        EnvironmentConfig.reload();
+
+        UserStubServer stub = UserStubServer.install();
+        assertEquals(stub.getBaseUri().toString(), System.getProperty("apiUrl"));
+        assertEquals(stub.getBaseUri().toString(), EnvironmentConfig.get("apiUrl"));
+
+        stub.close();
+        assertEquals("http://before.example", System.getProperty("apiUrl"));
+        assertEquals("http://before.example", EnvironmentConfig.get("apiUrl"), "The configuration is reloaded");
+
+        stub.close();
+        assertEquals("http://before.example", System.getProperty("apiUrl"), "A second close() changes nothing");
+    }
+
+    @Test
+    @DisplayName("close() clears apiUrl when it was unset before install(); start() never touches it")
+    void testCloseClearsUnsetApiUrl() {
+        System.clearProperty("apiUrl");
+        EnvironmentConfig.reload();
+        String configured = EnvironmentConfig.get("apiUrl");
+
+        UserStubServer.install().close();
+        assertNull(System.getProperty("apiUrl"));
+        assertEquals(configured, EnvironmentConfig.get("apiUrl"));
+
+        try (UserStubServer stub = UserStubServer.start()) {
+            assertNull(System.getProperty("apiUrl"));
+            assertNotEquals(EnvironmentConfig.get("apiUrl"), stub.getBaseUri().toString());
+        }
+        assertNull(System.getProperty("apiUrl"));
+    }
+
+    @Test
+    @DisplayName("GET /users lists every fixture and GET /users/{id} serves one")
+    void testGetListAndById() {
+        Response list = request().get("/users");
+        assertEquals(200, list.getStatusCode());
+        assertEquals(10, list.jsonPath().getList("id").size());
+        assertEquals("Bret", list.jsonPath().getString("[0].username"));
+        assertEquals(200, request().get("/users/").getStatusCode(), "A trailing slash lists too");
+
+        Response user = request().get("/users/3");
+        assertEquals(200, user.getStatusCode());
+        assertEquals(3, user.jsonPath().getInt("id"));
+        assertEquals("Samantha", user.jsonPath().getString("username"));
+        assertTrue(user.getContentType().startsWith("application/json"), user.getContentType());
+    }
+
+    @Test
+    @DisplayName("Unknown ids, unknown paths and other methods get 404 {}")
+    void testNotFound() {
+        for (Response response : new Response[] {request().get("/users/99"), request().get("/users/abc"),
+                                                 request().delete("/users/1")}) {
+            assertEquals(404, response.getStatusCode());
+            assertEquals("{}", response.asString());
+        }
+    }
+
+    @Test
+    @DisplayName("POST /users echoes the JSON object with id 11 and 201; a non-object body gets 400")
+    void testPostEchoesBody() {
+        Response created = request().contentType("application/json")
+                                    .body("{\"name\":\"Neo\",\"job\":\"tester\"}")
+                                    .post("/users");
+        assertEquals(201, created.getStatusCode());
+        assertEquals(11, created.jsonPath().getInt("id"));
+        assertEquals("Neo", created.jsonPath().getString("name"));
+        assertEquals("tester", created.jsonPath().getString("job"));
+
+        assertEquals(400, request().contentType("application/json").body("[1, 2]").post("/users").getStatusCode());
+        assertEquals(400, request().contentType("application/json").body("{not json").post("/users").getStatusCode());
+    }
+
+    @Test
+    @DisplayName("A matching If-None-Match gets 304 with no body; the list and each user have their own ETag")
+    void testEtagRevalidation() {
+        String etag = request().get("/users/1").getHeader("ETag");
+        assertNotNull(etag);
+        assertEquals(etag, request().get("/users/1").getHeader("ETag"), "The ETag is stable");
+
+        Response notModified = request().header("If-None-Match", etag).get("/users/1");
+        assertEquals(304, notModified.getStatusCode());
+        assertEquals("", notModified.asString());
+        assertEquals(etag, notModified.getHeader("ETag"));
+
+        assertEquals(200, request().header("If-None-Match", "W/\"stale\"").get("/users/1").getStatusCode());
+        String listEtag = request().get("/users").getHeader("ETag");
+        assertNotEquals(etag, listEtag);
+        assertEquals(304, request().header("If-None-Match", listEtag).get("/users").getStatusCode());
+        assertEquals(200, request().header("If-None-Match", etag).get("/users/2").getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Configured latency delays every response by at least the fixed part")
+    void testLatencyInjection() {
+        request().get("/users/1");
+        shared.setLatency(Duration.ofMillis(150), Duration.ofMillis(50));
+        try {
+            for (String path : new String[] {"/users/1", "/users/99", "/users"}) {
+                long start = System.nanoTime();
+                request().get(path);
+                long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                assertTrue(elapsedMs >= 150, path + " took " + elapsedMs + "ms");
+            }
+        } finally {
+            shared.setLatency(Duration.ZERO, Duration.ZERO);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.framework.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for flattening JSON environment files, environment variable naming
+ * and the order in which the file layers are applied
+ */
+class ConfigSourcesTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Map<String, String> flatten(String json) throws IOException {
+        return ConfigSources.flattenJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("Nested objects become dotted keys in document order")
+    void testNestedObjects() throws IOException {
+        Map<String, String> values = flatten("{\"baseUrl\": \"http://a\", \"demoqa\": {\"timeout\": \"30s\","
+                                             + " \"credentials\": {\"username\": \"u\"}}, \"enabled\": true, \"n\": 5}");
+        assertEquals(List.of("baseUrl", "demoqa.timeout", "demoqa.credentials.username", "enabled", "n"),
+                     new ArrayList<>(values.keySet()));
+        assertEquals("30s", values.get("demoqa.timeout"));
+        assertEquals("true", values.get("enabled"));
+        assertEquals("5", values.get("n"));
+    }
+
+    @Test
+    @DisplayName("Scalar arrays are joined; arrays of objects are indexed")
+    void testArrays() throws IOException {
+        Map<String, String> values = flatten("{\"tags\": [\"a\", 1, true], \"servers\": [{\"host\": \"h0\", \"port\": 1},"
+                                             + " {\"host\": \"h1\", \"opts\": {\"tls\": false}}], \"after\": \"x\"}");
+        assertEquals("a,1,true", values.get("tags"));
+        assertEquals("h0", values.get("servers[0].host"));
+        assertEquals("1", values.get("servers[0].port"));
+        assertEquals("h1", values.get("servers[1].host"));
+        assertEquals("false", values.get("servers[1].opts.tls"));
+        assertFalse(values.containsKey("servers"), "An array of objects has no joined value");
+        assertEquals("x", values.get("after"), "The path is restored after an indexed array");
+    }
+
+    @Test
+    @DisplayName("Mixed arrays keep their index positions; nested arrays, nulls and empty arrays are skipped")
+    void testSkippedValues() throws IOException {
+        Map<String, String> values = flatten("{\"mixed\": [\"a\", {\"k\": \"v\"}, [1, 2], \"b\"],"
+                                             + " \"none\": null, \"empty\": []}");
+        assertEquals("a,b", values.get("mixed"));
+        assertEquals("v", values.get("mixed[1].k"));
+        assertFalse(values.containsKey("none"));
+        assertFalse(values.containsKey("empty"));
+    }
+
+    @Test
+    @DisplayName("Empty input yields no keys; a top-level array is rejected")
+    void testTopLevel() throws IOException {
+        assertTrue(flatten("").isEmpty());
+        assertTrue(flatten("{}").isEmpty());
+        assertThrows(IOException.class, () -> flatten("[{\"a\": 1}]"));
+    }
+
+    @Test
+    @DisplayName("Environment variable names are the upper-case underscore form of a key")
+    void testEnvironmentVariableName() {
+        assertEquals("MONGODB_POOL_MAXSIZE", ConfigSources.environmentVariableName("mongodb.pool.maxSize"));
+        assertEquals("DEMOQA_CREDENTIALS_PASSWORD", ConfigSources.environmentVariableName("demoqa.credentials.password"));
+        assertEquals("SERVERS_0__HOST", ConfigSources.environmentVariableName("servers[0].host"));
+    }
+
+    @Test
+    @DisplayName("config.file selects the env profile and overrides its values")
+    void testConfigFileOverridesProfile() throws IOException {
+        Path external = tempDir.resolve("local.properties");
+        Files.write(external, Arrays.asList("env=prod", "baseUrl=http://localhost:9000/login.html"), StandardCharsets.UTF_8);
+        String previous = System.getProperty("config.file");
+        System.setProperty("config.file", external.toString());
+        try {
+            EnvironmentConfig.reload();
+            assertEquals("prod", EnvironmentConfig.profile().getName());
+            assertEquals("http://localhost:9000/login.html", EnvironmentConfig.get("baseUrl"),
+                         "config.file wins over the prod profile's baseUrl");
+            assertEquals("https://demoqa.com", EnvironmentConfig.get("demoqa.url"),
+                         "Keys config.file does not set still come from the profile");
+
+            List<String> sources = EnvironmentConfig.snapshot().getSources();
+            assertEquals(external.toString(), sources.get(sources.size() - 1), "config.file is the last file layer");
+            assertTrue(sources.get(sources.size() - 2).endsWith("prod-env.json"), sources.toString());
+        } finally {
+            if (previous == null) System.clearProperty("config.file");
+            else System.setProperty("config.file", previous);
+            EnvironmentConfig.reload();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.framework.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for configuration layering, typed parsing and reload behaviour
+ */
+class EnvironmentConfigTest {
+
+    // Previous values of every system property a test changed; null means it was unset
+    private final Map<String, String> previous = new HashMap<>();
+
+    @TempDir
+    Path tempDir;
+
+    private void setProperty(String key, String value) {
+        if (!previous.containsKey(key)) {
+            previous.put(key, System.getProperty(key));
+        }
+        System.setProperty(key, value);
+    }
+
+    @AfterEach
+    void restoreProperties() {
+        previous.forEach((key, value) -> {
+            if (value == null) System.clearProperty(key);
+            else System.setProperty(key, value);
+        });
+        previous.clear();
+        EnvironmentConfig.reload();
+    }
+
+    @Test
+    @DisplayName("Later layers override earlier ones: properties, profile, config.file, system properties")
+    void testLayerPrecedence() throws Exception {
+        Path external = tempDir.resolve("override.properties");
+        Files.write(external, Arrays.asList("test.layer.file=external", "apiUrl=http://external.example",
+                                            "api.pool.maxTotal=7"), StandardCharsets.UTF_8);
+        setProperty("config.file", external.toString());
+        EnvironmentConfig.reload();
+
+        assertEquals("external", EnvironmentConfig.get("test.layer.file"));
+        assertEquals(7, EnvironmentConfig.getInt("api.pool.maxTotal", 50), "config.file overrides config.properties");
+        assertEquals("http://external.example", EnvironmentConfig.get("apiUrl"),
+                     "config.file overrides the env profile");
+        assertTrue(EnvironmentConfig.snapshot().getSources().contains(external.toString()));
+
+        setProperty("apiUrl", "http://system.example");
+        EnvironmentConfig.reload();
+        assertEquals("http://system.example", EnvironmentConfig.getUri("apiUrl").toString(),
+                     "System properties override every file");
+    }
+
+    @Test
+    @DisplayName("Duration values accept units, bare milliseconds and ISO-8601")
+    void testDurationParsing() {
+        assertEquals(Duration.ofMillis(500), ConfigSchema.parse("k", "500ms", ConfigSchema.Type.DURATION));
+        assertEquals(Duration.ofSeconds(30), ConfigSchema.parse("k", "30s", ConfigSchema.Type.DURATION));
+        assertEquals(Duration.ofSeconds(30), ConfigSchema.parse("k", "PT30S", ConfigSchema.Type.DURATION));
+        assertEquals(Duration.ofSeconds(30), ConfigSchema.parse("k", "pt30s", ConfigSchema.Type.DURATION));
+        assertEquals(Duration.ofMinutes(5), ConfigSchema.parse("k", " 5m ", ConfigSchema.Type.DURATION));
+        assertEquals(Duration.ofHours(1), ConfigSchema.parse("k", "1h", ConfigSchema.Type.DURATION));
+        assertEquals(Duration.ofMillis(250), ConfigSchema.parse("k", "250", ConfigSchema.Type.DURATION));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+            () -> ConfigSchema.parse("api.keepAlive", "soon", ConfigSchema.Type.DURATION));
+        assertTrue(e.getMessage().contains("api.keepAlive"), e.getMessage());
+        assertThrows(IllegalStateException.class, () -> ConfigSchema.parse("k", "PT", ConfigSchema.Type.DURATION));
+        assertThrows(IllegalStateException.class, () -> ConfigSchema.parse("k", "-5s", ConfigSchema.Type.DURATION));
+    }
+
+    @Test
+    @DisplayName("Other typed values: integers, booleans, URIs and lists")
+    void testTypedParsing() {
+        assertEquals(12, ConfigSchema.parse("k", " 12 ", ConfigSchema.Type.INT));
+        assertEquals(Boolean.FALSE, ConfigSchema.parse("k", "FALSE", ConfigSchema.Type.BOOLEAN));
+        assertEquals(List.of("a", "b"), ConfigSchema.parse("k", "a, ,b", ConfigSchema.Type.LIST));
+        assertThrows(IllegalStateException.class, () -> ConfigSchema.parse("k", "yes", ConfigSchema.Type.BOOLEAN));
+        assertThrows(IllegalStateException.class, () -> ConfigSchema.parse("k", "1.5", ConfigSchema.Type.INT));
+        assertThrows(IllegalStateException.class, () -> ConfigSchema.parse("k", "localhost", ConfigSchema.Type.URI));
+    }
+
+    @Test
+    @DisplayName("Choice keys are validated case-insensitively, including prefix rules")
+    void testChoiceValidation() {
+        setProperty("api.cache.mode", "REPLAY");
+        assertEquals("REPLAY", EnvironmentConfig.reload().get("api.cache.mode"));
+
+        setProperty("api.cache.mode", "sometimes");
+        IllegalStateException e = assertThrows(IllegalStateException.class, EnvironmentConfig::reload);
+        assertTrue(e.getMessage().contains("api.cache.mode"), e.getMessage());
+        assertTrue(e.getMessage().contains("[off, record, replay]"), e.getMessage());
+
+        setProperty("api.cache.mode", "off");
+        setProperty("mongodb.read.preference.users", "fastest");
+        e = assertThrows(IllegalStateException.class, EnvironmentConfig::reload);
+        assertTrue(e.getMessage().contains("mongodb.read.preference.users"), e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Typed values are parsed once per snapshot and re-parsed after a reload")
+    void testParseOnceCaching() {
+        setProperty("test.cache.list", "a,b");
+        EnvironmentConfig.Snapshot first = EnvironmentConfig.reload();
+        List<String> value = first.typed("test.cache.list", ConfigSchema.Type.LIST);
+        assertSame(value, first.typed("test.cache.list", ConfigSchema.Type.LIST));
+        assertNull(first.typed("test.cache.missing", ConfigSchema.Type.LIST));
+
+        setProperty("test.cache.list", "c");
+        EnvironmentConfig.Snapshot second = EnvironmentConfig.reload();
+        assertEquals(first.getVersion() + 1, second.getVersion());
+        assertEquals(List.of("c"), EnvironmentConfig.getList("test.cache.list"));
+        assertEquals(List.of("a", "b"), first.typed("test.cache.list", ConfigSchema.Type.LIST),
+                     "An old snapshot keeps its own values");
+    }
+
+    @Test
+    @DisplayName("A reload with an invalid value keeps the previous snapshot and skips listeners")
+    void testBadReloadKeepsPreviousSnapshot() {
+        setProperty("api.keepAlive", "45s");
+        EnvironmentConfig.Snapshot good = EnvironmentConfig.reload();
+        int[] notified = {0};
+        EnvironmentConfig.addReloadListener(snapshot -> notified[0]++);
+
+        setProperty("api.keepAlive", "soon");
+        assertThrows(IllegalStateException.class, EnvironmentConfig::reload);
+        assertSame(good, EnvironmentConfig.snapshot());
+        assertEquals(Duration.ofSeconds(45), EnvironmentConfig.getDuration("api.keepAlive", Duration.ZERO));
+        assertEquals(0, notified[0]);
+    }
+}
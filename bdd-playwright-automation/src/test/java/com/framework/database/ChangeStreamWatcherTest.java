@@ -0,0 +1,62 @@
+package com.framework.database;
+
+import com.framework.database.memory.InMemoryMongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the polling fallback of ChangeStreamWatcher on the in-memory backend
+ * (which has no change streams)
+ */
+class ChangeStreamWatcherTest {
+
+    private MongoCollection<Document> orders;
+    private ChangeStreamWatcher watcher;
+
+    @BeforeEach
+    void createCollection() {
+        orders = InMemoryMongoClient.create().getDatabase("testdb").getCollection("orders");
+        watcher = new ChangeStreamWatcher(orders);
+    }
+
+    @Test
+    @DisplayName("A document that exists or is written while polling is returned")
+    void testFindsDocument() {
+        orders.insertOne(new Document("_id", 1).append("status", "NEW"));
+        assertEquals(1, watcher.awaitDocument(Filters.eq("status", "NEW"), Duration.ofSeconds(2)).get().get("_id"));
+
+        CompletableFuture<Optional<Document>> paid = watcher.watchFor(Filters.eq("status", "PAID"), Duration.ofSeconds(5));
+        orders.insertOne(new Document("_id", 2).append("status", "PAID"));
+        assertEquals(2, paid.join().get().get("_id"));
+    }
+
+    @Test
+    @DisplayName("A probe timeout means not found: the result is empty, not an exception")
+    void testTimeoutIsNotFound() {
+        orders.insertOne(new Document("_id", 1).append("status", "NEW"));
+        long start = System.nanoTime();
+        assertFalse(watcher.awaitDocument(Filters.eq("status", "PAID"), Duration.ofMillis(150)).isPresent());
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(150).toNanos());
+    }
+
+    @Test
+    @DisplayName("A query that is still failing at the deadline is reported as an error")
+    void testFailingQueryIsAnError() {
+        orders.insertOne(new Document("_id", 1).append("status", "NEW"));
+        CompletionException e = assertThrows(CompletionException.class,
+            () -> watcher.awaitDocument(new Document("status", new Document("$bogus", 1)), Duration.ofMillis(100)));
+        ReadinessProbe.TimeoutException timeout = assertInstanceOf(ReadinessProbe.TimeoutException.class, e.getCause());
+        assertInstanceOf(UnsupportedOperationException.class, timeout.getCause());
+    }
+}
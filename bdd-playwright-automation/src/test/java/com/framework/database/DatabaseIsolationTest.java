@@ -0,0 +1,128 @@
+package com.framework.database;
+
+import com.framework.database.memory.InMemoryMongoClient;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for per-thread database isolation on the in-memory backend
+ */
+class DatabaseIsolationTest {
+
+    private MongoClient client;
+    private DatabaseIsolation isolation;
+
+    @BeforeEach
+    void createIsolation() {
+        client = InMemoryMongoClient.create();
+        isolation = new DatabaseIsolation(client, "testdb");
+    }
+
+    @AfterEach
+    void shutdownIsolation() {
+        isolation.shutdown();
+    }
+
+    private List<String> databaseNames() {
+        return client.listDatabaseNames().into(new ArrayList<>());
+    }
+
+    // Name of the database a fresh thread receives (the thread never releases it)
+    private String nameOnOtherThread(AtomicReference<Long> threadId) throws InterruptedException {
+        AtomicReference<String> name = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            threadId.set(Thread.currentThread().getId());
+            name.set(isolation.currentDatabase().getName());
+        });
+        thread.start();
+        thread.join();
+        return name.get();
+    }
+
+    @Test
+    @DisplayName("Each thread gets its own <base>_w<threadId>_<sequence> database")
+    void testDistinctNamesPerThread() throws InterruptedException {
+        AtomicReference<Long> first = new AtomicReference<>();
+        AtomicReference<Long> second = new AtomicReference<>();
+        String firstName = nameOnOtherThread(first);
+        String secondName = nameOnOtherThread(second);
+        String ownName = isolation.currentDatabase().getName();
+
+        assertEquals("testdb_w" + first.get() + "_1", firstName);
+        assertEquals("testdb_w" + second.get() + "_2", secondName);
+        assertEquals("testdb_w" + Thread.currentThread().getId() + "_3", ownName);
+        assertNotEquals(firstName, secondName);
+    }
+
+    @Test
+    @DisplayName("A thread keeps the same database until it releases it, then gets a new one")
+    void testSameDatabaseUntilRelease() {
+        assertFalse(isolation.hasCurrentDatabase());
+        MongoDatabase database = isolation.currentDatabase();
+        assertTrue(isolation.hasCurrentDatabase());
+        assertSame(database, isolation.currentDatabase());
+        assertEquals(database.getName(), isolation.currentDatabase().getName());
+
+        isolation.releaseCurrent().join();
+        assertFalse(isolation.hasCurrentDatabase());
+        String next = isolation.currentDatabase().getName();
+        assertNotEquals(database.getName(), next);
+        assertTrue(next.endsWith("_2"), next);
+    }
+
+    @Test
+    @DisplayName("release drops the database on a background thread; releasing twice is a no-op")
+    void testReleaseDropsDatabase() {
+        MongoDatabase database = isolation.currentDatabase();
+        database.getCollection("users").insertOne(new Document("name", "Bret"));
+        assertTrue(databaseNames().contains(database.getName()));
+
+        CompletableFuture<Void> drop = isolation.releaseCurrent();
+        drop.join();
+        assertFalse(databaseNames().contains(database.getName()));
+
+        CompletableFuture<Void> again = isolation.releaseCurrent();
+        assertTrue(again.isDone(), "Nothing left to drop");
+    }
+
+    @Test
+    @DisplayName("shutdown drops databases that other threads never released")
+    void testShutdownDropsUnreleased() throws InterruptedException {
+        String name = nameOnOtherThread(new AtomicReference<>());
+        client.getDatabase(name).getCollection("users").insertOne(new Document("name", "Antonette"));
+        assertTrue(databaseNames().contains(name));
+
+        isolation.shutdown();
+        assertFalse(databaseNames().contains(name));
+    }
+
+    @Test
+    @DisplayName("With isolation 'none' every thread shares the base database")
+    void testNoIsolationSharesDatabase() throws InterruptedException {
+        assumeTrue(MongoDBConnection.isInMemoryBackend(), "Needs -Dmongodb.backend=memory");
+        assumeTrue(!MongoDBConnection.isIsolationEnabled(), "Needs mongodb.isolation=none");
+        MongoDBConnection connection = MongoDBConnection.getInstance();
+        String base = connection.getDatabase().getName();
+        assertFalse(base.contains("_w"), base);
+
+        AtomicReference<String> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> other.set(connection.getDatabase().getName()));
+        thread.start();
+        thread.join();
+        assertEquals(base, other.get());
+        assertTrue(connection.releaseScopedDatabase().isDone(), "No scoped database to drop");
+    }
+}
@@ -0,0 +1,151 @@
+package com.framework.database;
+
+import com.mongodb.client.MongoClient;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for lease counting, eviction and expiry in the MongoClient cache
+ */
+class MongoClientCacheTest {
+
+    private static final String QA = "mongodb://localhost:27101/?cacheTest=qa";
+    private static final String STAGING = "mongodb://localhost:27102/?cacheTest=staging";
+    private static final String PERF = "mongodb://localhost:27103/?cacheTest=perf";
+    private static final long NEVER = 3_600_000;
+
+    private MongoClientCache cache;
+
+    private MongoClientCache cache(int maxSize, long idleTimeoutMs) {
+        cache = new MongoClientCache(maxSize, idleTimeoutMs);
+        return cache;
+    }
+
+    @AfterEach
+    void closeCache() {
+        if (cache != null) {
+            cache.closeAll();
+        }
+    }
+
+    @Test
+    @DisplayName("Leases on one URI share a client and count references; close is idempotent")
+    void testReferenceCounting() {
+        MongoClientCache cache = cache(2, NEVER);
+        MongoClientCache.Lease first = cache.acquire(QA);
+        MongoClientCache.Lease second = cache.acquire(QA);
+        assertSame(first.getClient(), second.getClient());
+        assertEquals(2, cache.references(QA));
+        assertEquals(1, cache.size());
+
+        first.close();
+        first.close();
+        assertEquals(1, cache.references(QA), "A second close() releases nothing");
+        assertThrows(IllegalStateException.class, first::getClient);
+
+        second.close();
+        assertEquals(0, cache.references(QA));
+        assertTrue(cache.isCached(QA), "Released clients stay cached until evicted or idle");
+    }
+
+    @Test
+    @DisplayName("A full cache evicts the least recently acquired idle client, never a leased one")
+    void testLruEvictionOfIdleClients() {
+        MongoClientCache cache = cache(2, NEVER);
+        MongoClientCache.Lease qa = cache.acquire(QA);
+        cache.acquire(STAGING).close();
+        qa.close();
+        // QA was acquired first but used most recently after this
+        cache.acquire(QA).close();
+        try (MongoClientCache.Lease perf = cache.acquire(PERF)) {
+            assertTrue(cache.isCached(QA));
+            assertFalse(cache.isCached(STAGING), "The least recently acquired idle client is evicted");
+            assertTrue(cache.isCached(PERF));
+            assertEquals(2, cache.size());
+            assertNotNull(perf.getClient());
+        }
+
+        try (MongoClientCache.Lease held = cache.acquire(PERF)) {
+            cache.acquire(QA).close();
+            cache.acquire(STAGING).close();
+            assertTrue(cache.isCached(PERF), "A leased client is skipped even when it is the oldest");
+            assertFalse(cache.isCached(QA));
+            assertEquals(1, cache.references(PERF));
+            assertNotNull(held.getClient());
+        }
+    }
+
+    @Test
+    @DisplayName("Acquiring a new URI fails when every cached client is leased")
+    void testCacheFull() {
+        MongoClientCache cache = cache(2, NEVER);
+        try (MongoClientCache.Lease qa = cache.acquire(QA);
+             MongoClientCache.Lease staging = cache.acquire(STAGING)) {
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> cache.acquire(PERF));
+            assertTrue(e.getMessage().contains("cache is full"), e.getMessage());
+            assertTrue(e.getMessage().contains("mongodb.clientCache.maxSize"), e.getMessage());
+            assertEquals(2, cache.size());
+            assertNotSame(qa.getClient(), staging.getClient());
+            try (MongoClientCache.Lease again = cache.acquire(QA)) {
+                assertSame(qa.getClient(), again.getClient(), "Cached URIs can still be leased");
+                assertEquals(2, cache.references(QA));
+            }
+        }
+        assertEquals(2, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new MongoClientCache(0, NEVER));
+    }
+
+    @Test
+    @DisplayName("Clients idle past the timeout are closed by evictIdle; leased clients never expire")
+    void testIdleExpiry() throws InterruptedException {
+        MongoClientCache cache = cache(4, 50);
+        cache.acquire(QA).close();
+        MongoClientCache.Lease staging = cache.acquire(STAGING);
+
+        cache.evictIdle();
+        assertTrue(cache.isCached(QA), "Not idle for long enough yet");
+
+        Thread.sleep(80);
+        cache.evictIdle();
+        assertFalse(cache.isCached(QA));
+        assertTrue(cache.isCached(STAGING));
+
+        staging.close();
+        cache.evictIdle();
+        assertTrue(cache.isCached(STAGING), "The idle clock starts at release");
+        Thread.sleep(80);
+        cache.evictIdle();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("The main URI shares the MongoDBConnection client and is never counted, evicted or closed")
+    void testMainUriSharesSingletonClient() throws InterruptedException {
+        String main = MongoDBConnection.getMainUri();
+        MongoClient singleton = MongoDBConnection.getInstance().client();
+        MongoClientCache cache = cache(1, 20);
+
+        try (MongoClientCache.Lease lease = cache.acquire(main)) {
+            assertSame(singleton, lease.getClient());
+            assertEquals(0, cache.size());
+            assertFalse(cache.isCached(main));
+            assertEquals(1, cache.references(main));
+            cache.acquire(QA).close();
+        }
+        assertEquals(0, cache.references(main));
+        Thread.sleep(40);
+        cache.evictIdle();
+        cache.closeAll();
+        assertSame(singleton, cache.acquire(main).getClient());
+
+        assumeTrue(MongoDBConnection.isInMemoryBackend(), "Data check needs -Dmongodb.backend=memory");
+        singleton.getDatabase("cacheTest").getCollection("users").insertOne(new Document("_id", 1));
+        assertEquals(1, cache.acquire(main).getDatabase("cacheTest").getCollection("users").countDocuments());
+        singleton.getDatabase("cacheTest").drop();
+    }
+}
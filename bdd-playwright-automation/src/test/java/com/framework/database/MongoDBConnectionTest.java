@@ -0,0 +1,38 @@
+package com.framework.database;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for how MongoDBConnection reports a client that could not be created
+ */
+class MongoDBConnectionTest {
+
+    @Test
+    @DisplayName("A client creation failure is rethrown by awaitReady() and every handle accessor")
+    void testCreationFailureIsRethrown() {
+        IllegalArgumentException failure = new IllegalArgumentException("The connection string is invalid");
+        MongoDBConnection connection = new MongoDBConnection(failure);
+
+        RuntimeException e = assertThrows(RuntimeException.class, connection::awaitReady);
+        assertSame(failure, e.getCause());
+        assertSame(failure, assertThrows(RuntimeException.class, connection::getDatabase).getCause());
+        assertSame(failure, assertThrows(RuntimeException.class, () -> connection.getCollection("users")).getCause());
+        assertSame(failure, assertThrows(RuntimeException.class, () -> connection.getVerificationCollection("users")).getCause());
+        assertSame(failure, assertThrows(RuntimeException.class, () -> connection.snapshot("seed")).getCause());
+        assertSame(failure, assertThrows(RuntimeException.class, connection::client).getCause());
+    }
+
+    @Test
+    @DisplayName("Health checks and cleanup on a failed connection do not throw")
+    void testFailedConnectionCleanup() {
+        MongoDBConnection connection = new MongoDBConnection(new IllegalStateException("Unknown mongodb.pool.profile"));
+        assertFalse(connection.isConnected());
+        assertTrue(connection.releaseScopedDatabase().isDone());
+        assertNull(connection.getReplicaSetStatus());
+        assertTrue(connection.replicaSetReadiness().isCompletedExceptionally());
+        connection.closeConnection();
+    }
+}
@@ -0,0 +1,67 @@
+package com.framework.database;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for per-interval command metrics taken from snapshots
+ */
+class MongoMetricsTest {
+
+    private static final ConnectionDescription CONNECTION =
+        new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private static void succeeded(MongoMetrics metrics, String command, long millis) {
+        metrics.commandSucceeded(new CommandSucceededEvent(null, 1, 1, CONNECTION, "testdb", command,
+                                                           new BsonDocument(), TimeUnit.MILLISECONDS.toNanos(millis)));
+    }
+
+    private static void failed(MongoMetrics metrics, String command) {
+        metrics.commandFailed(new CommandFailedEvent(null, 1, 1, CONNECTION, "testdb", command,
+                                                     TimeUnit.MILLISECONDS.toNanos(1), new RuntimeException("boom")));
+    }
+
+    @Test
+    @DisplayName("A snapshot delta holds only the commands issued after the earlier snapshot")
+    void testSnapshotDelta() {
+        MongoMetrics metrics = new MongoMetrics();
+        succeeded(metrics, "find", 50);
+        succeeded(metrics, "insert", 5);
+        MongoMetrics.Snapshot start = metrics.snapshot();
+
+        succeeded(metrics, "find", 2);
+        succeeded(metrics, "find", 3);
+        failed(metrics, "update");
+        MongoMetrics.Snapshot delta = metrics.snapshot().since(start);
+
+        assertEquals(3, delta.getCommandCount());
+        assertEquals(2, delta.getCommandLatency("find").getCount());
+        assertTrue(delta.getCommandLatency("find").getMaxMillis() < 10, "The earlier 50ms find is not in the delta");
+        assertEquals(0, delta.getCommandLatency("insert").getCount());
+        String report = delta.report();
+        assertTrue(report.startsWith("MongoDB commands: 3"), report);
+        assertTrue(report.contains("update") && report.contains("failures=1"), report);
+        assertFalse(report.contains("insert"), "Commands without new calls are left out: " + report);
+    }
+
+    @Test
+    @DisplayName("An interval without commands has an empty delta")
+    void testEmptyDelta() {
+        MongoMetrics metrics = new MongoMetrics();
+        succeeded(metrics, "find", 1);
+        MongoMetrics.Snapshot start = metrics.snapshot();
+        assertEquals(0, metrics.snapshot().since(start).getCommandCount());
+        assertEquals(1, metrics.snapshot().since(new MongoMetrics().snapshot()).getCommandCount());
+    }
+}
@@ -0,0 +1,135 @@
+package com.framework.database;
+
+import com.framework.config.EnvironmentConfig;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.connection.ConnectionPoolSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for pool profile resolution and per-key overrides
+ */
+class MongoPoolSettingsTest {
+
+    // Previous values of every system property a test changed; null means it was unset
+    private final Map<String, String> previous = new HashMap<>();
+
+    private void setProperty(String key, String value) {
+        if (!previous.containsKey(key)) {
+            previous.put(key, System.getProperty(key));
+        }
+        System.setProperty(key, value);
+    }
+
+    private MongoPoolSettings resolve(String profile) {
+        setProperty("mongodb.pool.profile", profile);
+        EnvironmentConfig.reload();
+        return MongoPoolSettings.resolve();
+    }
+
+    // Three fixed workers: profiles that scale with parallelism derive a pool of 6
+    @BeforeEach
+    void fixParallelism() {
+        setProperty("cucumber.execution.parallel.enabled", "true");
+        setProperty("cucumber.execution.parallel.config.fixed.parallelism", "3");
+    }
+
+    @AfterEach
+    void restoreProperties() {
+        previous.forEach((key, value) -> {
+            if (value == null) System.clearProperty(key);
+            else System.setProperty(key, value);
+        });
+        previous.clear();
+        EnvironmentConfig.reload();
+    }
+
+    @Test
+    @DisplayName("The default profile is a fixed 5-20 pool with 30s timeouts")
+    void testDefaultProfile() {
+        MongoPoolSettings settings = resolve("default");
+        assertEquals("default", settings.getProfile());
+        assertEquals(5, settings.getMinSize());
+        assertEquals(20, settings.getMaxSize());
+        assertEquals(60_000, settings.getMaxIdleTimeMs());
+        assertEquals(1_800_000, settings.getMaxLifeTimeMs());
+        assertEquals(10_000, settings.getHeartbeatFrequencyMs());
+        assertEquals(30_000, settings.getConnectTimeoutMs());
+        assertEquals(30_000, settings.getSocketTimeoutMs());
+        assertEquals(30_000, settings.getServerSelectionTimeoutMs());
+    }
+
+    @Test
+    @DisplayName("The local profile sizes the pool to parallelism and fails fast")
+    void testLocalProfile() {
+        MongoPoolSettings settings = resolve("local");
+        assertEquals(1, settings.getMinSize());
+        assertEquals(6, settings.getMaxSize());
+        assertEquals(30_000, settings.getMaxIdleTimeMs());
+        assertEquals(5_000, settings.getConnectTimeoutMs());
+        assertEquals(15_000, settings.getSocketTimeoutMs());
+        assertEquals(5_000, settings.getServerSelectionTimeoutMs());
+
+        setProperty("cucumber.execution.parallel.enabled", "false");
+        assertEquals(1, MongoPoolSettings.resolveParallelism());
+        assertEquals(4, resolve("local").getMaxSize(), "A serial run still gets the minimum pool of 4");
+    }
+
+    @Test
+    @DisplayName("The ci-heavy profile keeps one connection per worker warm and waits longer")
+    void testCiHeavyProfile() {
+        MongoPoolSettings settings = resolve("ci-heavy");
+        assertEquals(3, settings.getMinSize());
+        assertEquals(6, settings.getMaxSize());
+        assertEquals(120_000, settings.getMaxIdleTimeMs());
+        assertEquals(30_000, settings.getConnectTimeoutMs());
+        assertEquals(60_000, settings.getSocketTimeoutMs());
+        assertEquals(30_000, settings.getServerSelectionTimeoutMs());
+    }
+
+    @Test
+    @DisplayName("Individual keys override the profile; durations accept units, ISO-8601 and bare milliseconds")
+    void testPerKeyOverrides() {
+        setProperty("mongodb.pool.maxSize", "8");
+        setProperty("mongodb.pool.minSize", "12");
+        setProperty("mongodb.pool.maxIdleTime", "2m");
+        setProperty("mongodb.socketTimeout", "45s");
+        setProperty("mongodb.connectTimeout", "1500");
+        setProperty("mongodb.serverSelectionTimeout", "PT2S");
+        MongoPoolSettings settings = resolve("local");
+
+        assertEquals(8, settings.getMaxSize());
+        assertEquals(8, settings.getMinSize(), "minSize is capped at maxSize");
+        assertEquals(120_000, settings.getMaxIdleTimeMs());
+        assertEquals(45_000, settings.getSocketTimeoutMs());
+        assertEquals(1_500, settings.getConnectTimeoutMs());
+        assertEquals(2_000, settings.getServerSelectionTimeoutMs());
+        assertEquals(600_000, settings.getMaxLifeTimeMs(), "Keys that are not overridden keep the profile value");
+
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+        settings.applyTo(builder);
+        MongoClientSettings client = builder.build();
+        ConnectionPoolSettings pool = client.getConnectionPoolSettings();
+        assertEquals(8, pool.getMaxSize());
+        assertEquals(120_000, pool.getMaxConnectionIdleTime(TimeUnit.MILLISECONDS));
+        assertEquals(1_500, client.getSocketSettings().getConnectTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(2_000, client.getClusterSettings().getServerSelectionTimeout(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("An unknown profile is rejected and the previous configuration stays in effect")
+    void testUnknownProfileRejected() {
+        setProperty("mongodb.pool.profile", "huge");
+        IllegalStateException e = assertThrows(IllegalStateException.class, EnvironmentConfig::reload);
+        assertTrue(e.getMessage().contains("mongodb.pool.profile"), e.getMessage());
+        assertEquals("default", MongoPoolSettings.resolve().getProfile());
+    }
+}
@@ -0,0 +1,108 @@
+package com.framework.database;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for index advice from canned explain output and filter/sort shapes
+ */
+class QueryPlanAdvisorTest {
+
+    private static final String NAMESPACE = "testdb.users";
+
+    // find explain output: winning plan stage tree plus executionStats
+    private static Document explain(String winningPlan, long examined, long returned) {
+        return Document.parse("{queryPlanner: {namespace: 'testdb.users', winningPlan: " + winningPlan + "},"
+                              + " executionStats: {nReturned: " + returned + ", totalDocsExamined: " + examined + "},"
+                              + " ok: 1}");
+    }
+
+    @Test
+    @DisplayName("A COLLSCAN winning plan with a filter is reported with the ESR index")
+    void testCollscanDetected() {
+        Document filter = Document.parse("{status: 'active', age: {$gte: 30}}");
+        QueryPlanAdvisor.Finding finding = QueryPlanAdvisor.analyse(
+            NAMESPACE, explain("{stage: 'COLLSCAN', filter: {}}", 1000, 40), filter, null);
+
+        assertNotNull(finding);
+        assertEquals("COLLSCAN", finding.getType());
+        assertEquals(NAMESPACE, finding.getNamespace());
+        assertEquals(new LinkedHashSet<>(Arrays.asList("status", "age")), finding.getFilterFields());
+        assertEquals(1000, finding.getDocsExamined());
+        assertEquals(40, finding.getDocsReturned());
+        assertEquals("{\"status\": 1, \"age\": 1}", finding.getSuggestedIndex());
+        assertTrue(finding.toString().startsWith("COLLSCAN on testdb.users"), finding.toString());
+    }
+
+    @Test
+    @DisplayName("COLLSCAN nested under an aggregate $cursor stage or a SORT stage is still found")
+    void testNestedCollscanDetected() {
+        Document aggregate = Document.parse(
+            "{stages: [{$cursor: {queryPlanner: {winningPlan: {stage: 'SORT', inputStage: {stage: 'COLLSCAN'}}},"
+            + " executionStats: {nReturned: 5, totalDocsExamined: 10}}}, {$group: {_id: '$role'}}]}");
+        QueryPlanAdvisor.Finding finding = QueryPlanAdvisor.analyse(
+            NAMESPACE, aggregate, new Document("role", "admin"), new Document("name", 1));
+
+        assertNotNull(finding);
+        assertEquals("COLLSCAN", finding.getType());
+        assertEquals(10, finding.getDocsExamined());
+        assertEquals("{\"role\": 1, \"name\": 1}", finding.getSuggestedIndex());
+    }
+
+    @Test
+    @DisplayName("An index scan that examines far more than it returns is POOR_SELECTIVITY")
+    void testPoorSelectivity() {
+        QueryPlanAdvisor.Finding finding = QueryPlanAdvisor.analyse(
+            NAMESPACE, explain("{stage: 'FETCH', inputStage: {stage: 'IXSCAN', keyPattern: {status: 1}}}", 500, 2),
+            Document.parse("{status: 'active', email: 'a@b.c'}"), null);
+
+        assertNotNull(finding);
+        assertEquals("POOR_SELECTIVITY", finding.getType());
+        assertEquals("{\"status\": 1, \"email\": 1}", finding.getSuggestedIndex());
+    }
+
+    @Test
+    @DisplayName("Nothing is suggested for selective index scans, unfiltered scans or a missing plan")
+    void testNoFinding() {
+        Document filter = new Document("email", "Sincere@april.biz");
+        assertNull(QueryPlanAdvisor.analyse(
+            NAMESPACE, explain("{stage: 'FETCH', inputStage: {stage: 'IXSCAN'}}", 1, 1), filter, null));
+        assertNull(QueryPlanAdvisor.analyse(
+            NAMESPACE, explain("{stage: 'FETCH', inputStage: {stage: 'IXSCAN'}}", 10, 1), filter, null),
+            "Exactly at the threshold is still selective");
+        assertNull(QueryPlanAdvisor.analyse(
+            NAMESPACE, explain("{stage: 'COLLSCAN'}", 10, 10), new Document(), null),
+            "A full scan is expected when there is no filter");
+        assertNull(QueryPlanAdvisor.analyse(
+            NAMESPACE, explain("{stage: 'EOF'}", 0, 0), filter, null));
+        assertNull(QueryPlanAdvisor.analyse(NAMESPACE, new Document("ok", 1), filter, null));
+    }
+
+    @Test
+    @DisplayName("Suggested keys are ordered equality, then sort, then range")
+    void testEsrKeyOrder() {
+        Document filter = Document.parse("{age: {$gt: 21}, status: 'active', name: {$regex: '^L'}, role: {$in: ['a', 'b']}}");
+        Document sort = Document.parse("{createdAt: -1, status: 1}");
+
+        Document index = QueryPlanAdvisor.suggestIndex(filter, sort);
+        assertEquals(Arrays.asList("status", "role", "createdAt", "age", "name"), Arrays.asList(index.keySet().toArray()));
+        assertEquals(-1, index.get("createdAt"), "Sort fields keep their direction");
+        assertEquals(1, index.get("status"), "A field already used for equality keeps its position");
+    }
+
+    @Test
+    @DisplayName("Top-level operators are skipped and an empty shape suggests an empty index")
+    void testOperatorsAndEmptyShape() {
+        Document filter = Document.parse("{$or: [{a: 1}, {b: 2}], tenant: 'x', deleted: {$exists: false}}");
+        assertEquals(Arrays.asList("tenant", "deleted"),
+                     Arrays.asList(QueryPlanAdvisor.suggestIndex(filter, null).keySet().toArray()));
+        assertTrue(QueryPlanAdvisor.suggestIndex(new Document(), null).isEmpty());
+        assertEquals(new Document("name", 1), QueryPlanAdvisor.suggestIndex(new Document(), new Document("name", 1)));
+    }
+}
@@ -0,0 +1,133 @@
+package com.framework.database;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for readiness polling: backoff bounds, deadlines and failure reporting
+ */
+class ReadinessProbeTest {
+
+    private static ReadinessProbe probe(long timeoutMs) {
+        return new ReadinessProbe("test", Duration.ofMillis(timeoutMs), Duration.ofMillis(5), Duration.ofMillis(20));
+    }
+
+    @Test
+    @DisplayName("Backoff starts at the initial delay, doubles its ceiling and never exceeds the cap")
+    void testBackoffBounds() {
+        ReadinessProbe probe = new ReadinessProbe("test", Duration.ofSeconds(1),
+                                                  Duration.ofMillis(10), Duration.ofMillis(80));
+        for (int sample = 0; sample < 200; sample++) {
+            assertEquals(10, probe.backoffMillis(1));
+            assertBetween(10, 20, probe.backoffMillis(2));
+            assertBetween(10, 40, probe.backoffMillis(3));
+            assertBetween(10, 80, probe.backoffMillis(4));
+            assertBetween(10, 80, probe.backoffMillis(30));
+            assertBetween(10, 80, probe.backoffMillis(Integer.MAX_VALUE));
+        }
+
+        ReadinessProbe capped = new ReadinessProbe("test", Duration.ofSeconds(1),
+                                                   Duration.ofMillis(50), Duration.ofMillis(20));
+        assertEquals(50, capped.backoffMillis(5), "A cap below the initial delay falls back to the initial delay");
+    }
+
+    @Test
+    @DisplayName("Jitter spreads delays across the window instead of always sleeping the ceiling")
+    void testBackoffJitter() {
+        ReadinessProbe probe = new ReadinessProbe("test", Duration.ofSeconds(1),
+                                                  Duration.ofMillis(10), Duration.ofMillis(1000));
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int sample = 0; sample < 500; sample++) {
+            long delay = probe.backoffMillis(8);
+            min = Math.min(min, delay);
+            max = Math.max(max, delay);
+        }
+        assertTrue(max - min > 100, "Delays between " + min + " and " + max + "ms");
+    }
+
+    @Test
+    @DisplayName("Returns on the first passing attempt; exceptions count as not ready")
+    void testReturnsWhenReady() {
+        AtomicInteger attempts = new AtomicInteger();
+        probe(5_000).await(() -> {
+            int attempt = attempts.incrementAndGet();
+            if (attempt == 1) throw new IllegalStateException("still starting");
+            return attempt == 3;
+        });
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    @DisplayName("A check that never passes fails after the deadline, not long after it")
+    void testDeadline() {
+        AtomicInteger attempts = new AtomicInteger();
+        long start = System.nanoTime();
+        RuntimeException e = assertThrows(ReadinessProbe.TimeoutException.class, () -> probe(150).await(() -> {
+            attempts.incrementAndGet();
+            return false;
+        }));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs >= 150, "Gave up after " + elapsedMs + "ms");
+        assertTrue(elapsedMs < 2_000, "Overran the deadline: " + elapsedMs + "ms");
+        assertTrue(attempts.get() >= 3, "Delays are capped at 20ms, so the probe kept polling: " + attempts.get());
+        assertEquals("test not ready after 150ms (" + attempts.get() + " attempts)", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("A zero timeout makes exactly one attempt")
+    void testZeroTimeout() {
+        AtomicInteger attempts = new AtomicInteger();
+        assertThrows(ReadinessProbe.TimeoutException.class, () -> probe(0).await(() -> attempts.incrementAndGet() < 0));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    @DisplayName("The timeout carries the last failure as its cause, or none when the last attempt returned false")
+    void testTimeoutCause() {
+        IllegalStateException failure = new IllegalStateException("connection refused");
+        RuntimeException e = assertThrows(ReadinessProbe.TimeoutException.class, () -> probe(30).await(() -> {
+            throw failure;
+        }));
+        assertSame(failure, e.getCause());
+
+        AtomicInteger attempts = new AtomicInteger();
+        e = assertThrows(ReadinessProbe.TimeoutException.class, () -> probe(30).await(() -> {
+            if (attempts.incrementAndGet() == 1) throw failure;
+            return false;
+        }));
+        assertTrue(attempts.get() > 1);
+        assertNull(e.getCause(), "A later false result clears the earlier failure");
+    }
+
+    @Test
+    @DisplayName("An interrupt while backing off stops the wait and keeps the interrupt flag")
+    void testInterrupt() {
+        AtomicInteger attempts = new AtomicInteger();
+        Thread.currentThread().interrupt();
+        try {
+            RuntimeException e = assertThrows(RuntimeException.class, () -> probe(5_000).await(() -> {
+                attempts.incrementAndGet();
+                return false;
+            }));
+            assertFalse(e instanceof ReadinessProbe.TimeoutException, "An interrupt is not a timeout");
+            assertInstanceOf(InterruptedException.class, e.getCause());
+            assertEquals("Wait for test interrupted", e.getMessage());
+            assertTrue(Thread.currentThread().isInterrupted());
+            assertEquals(1, attempts.get());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private static void assertBetween(long low, long high, long actual) {
+        assertTrue(actual >= low && actual <= high, actual + " not in [" + low + ", " + high + "]");
+    }
+}
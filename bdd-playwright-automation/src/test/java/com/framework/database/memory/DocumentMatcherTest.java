@@ -0,0 +1,129 @@
+package com.framework.database.memory;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for query filter evaluation in the in-memory backend
+ */
+class DocumentMatcherTest {
+
+    private static final Document USER = new Document("_id", 1)
+        .append("name", "Leanne Graham")
+        .append("age", 31)
+        .append("score", 7.5)
+        .append("tags", Arrays.asList("admin", "qa"))
+        .append("address", new Document("city", "Gwenborough").append("zip", "92998"))
+        .append("orders", Arrays.asList(new Document("sku", "A1").append("qty", 2),
+                                        new Document("sku", "B2").append("qty", 5)));
+
+    private static boolean matches(String filterJson) {
+        return DocumentMatcher.matches(USER, Document.parse(filterJson));
+    }
+
+    @Test
+    @DisplayName("Equality matches scalars, dotted paths and array members")
+    void testEquality() {
+        assertTrue(matches("{name: 'Leanne Graham'}"));
+        assertTrue(matches("{'address.city': 'Gwenborough'}"));
+        assertTrue(matches("{tags: 'qa'}"));
+        assertTrue(matches("{tags: ['admin', 'qa']}"));
+        assertTrue(matches("{'orders.sku': 'B2'}"));
+        assertTrue(matches("{missing: null}"));
+        assertFalse(matches("{name: 'Ervin Howell'}"));
+        assertFalse(matches("{tags: ['qa', 'admin']}"));
+    }
+
+    @Test
+    @DisplayName("Numbers compare by value across int, long and double")
+    void testNumericEquality() {
+        assertTrue(DocumentMatcher.matches(USER, new Document("age", 31L)));
+        assertTrue(DocumentMatcher.matches(USER, new Document("age", 31.0)));
+        assertTrue(DocumentMatcher.valuesEqual(1, 1.0));
+        assertEquals(DocumentMatcher.hashKey(1), DocumentMatcher.hashKey(1.0));
+        assertEquals(DocumentMatcher.hashKey(new Document("a", 1L)), DocumentMatcher.hashKey(new Document("a", 1)));
+        assertNotEquals(DocumentMatcher.hashKey(new Document("a", 1).append("b", 2)),
+                        DocumentMatcher.hashKey(new Document("b", 2).append("a", 1)));
+        assertNotEquals(DocumentMatcher.hashKey(null), DocumentMatcher.hashKey("null"));
+    }
+
+    @Test
+    @DisplayName("Comparison operators only match values of the same type class")
+    void testComparisonOperators() {
+        assertTrue(matches("{age: {$gt: 30, $lte: 31}}"));
+        assertTrue(matches("{score: {$gte: 7.5, $lt: 8}}"));
+        assertTrue(matches("{'orders.qty': {$gt: 4}}"));
+        assertFalse(matches("{age: {$gt: '30'}}"));
+        assertFalse(matches("{age: {$lt: 31}}"));
+        assertTrue(matches("{age: {$ne: 30}}"));
+        assertFalse(matches("{tags: {$ne: 'qa'}}"));
+    }
+
+    @Test
+    @DisplayName("$in, $nin, $all, $size and $exists")
+    void testSetOperators() {
+        assertTrue(matches("{age: {$in: [1, 31]}}"));
+        assertTrue(matches("{tags: {$in: ['x', 'qa']}}"));
+        assertTrue(matches("{tags: {$nin: ['x', 'y']}}"));
+        assertFalse(matches("{tags: {$nin: ['qa']}}"));
+        assertTrue(matches("{tags: {$all: ['qa', 'admin']}}"));
+        assertFalse(matches("{tags: {$all: ['qa', 'dev']}}"));
+        assertTrue(matches("{tags: {$size: 2}}"));
+        assertTrue(matches("{'address.zip': {$exists: true}}"));
+        assertTrue(matches("{'address.street': {$exists: false}}"));
+    }
+
+    @Test
+    @DisplayName("$regex with options, Pattern values and $not")
+    void testRegex() {
+        assertTrue(matches("{name: {$regex: '^leanne', $options: 'i'}}"));
+        assertFalse(matches("{name: {$regex: '^leanne'}}"));
+        assertTrue(DocumentMatcher.matches(USER, new Document("name", Pattern.compile("Graham$"))));
+        assertTrue(matches("{name: {$not: {$regex: '^Ervin'}}}"));
+        assertFalse(matches("{age: {$not: {$gt: 30}}}"));
+    }
+
+    @Test
+    @DisplayName("$elemMatch on sub-documents and on scalar arrays")
+    void testElemMatch() {
+        assertTrue(matches("{orders: {$elemMatch: {sku: 'B2', qty: {$gte: 5}}}}"));
+        assertFalse(matches("{orders: {$elemMatch: {sku: 'A1', qty: {$gte: 5}}}}"));
+        assertTrue(DocumentMatcher.matches(new Document("v", List.of(1, 8)),
+                                           Document.parse("{v: {$elemMatch: {$gt: 5, $lt: 10}}}")));
+    }
+
+    @Test
+    @DisplayName("Logical $and, $or and $nor")
+    void testLogicalOperators() {
+        assertTrue(matches("{$and: [{age: 31}, {tags: 'qa'}]}"));
+        assertTrue(matches("{$or: [{age: 1}, {name: 'Leanne Graham'}]}"));
+        assertFalse(matches("{$or: [{age: 1}, {name: 'x'}]}"));
+        assertTrue(matches("{$nor: [{age: 1}, {name: 'x'}]}"));
+        assertFalse(matches("{$nor: [{age: 31}]}"));
+    }
+
+    @Test
+    @DisplayName("Unsupported operators fail loudly instead of matching nothing")
+    void testUnsupportedOperator() {
+        assertThrows(UnsupportedOperationException.class, () -> matches("{$where: 'true'}"));
+        assertThrows(UnsupportedOperationException.class, () -> matches("{name: {$text: 'x'}}"));
+    }
+
+    @Test
+    @DisplayName("Sort order follows the server's cross-type ordering")
+    void testCompare() {
+        assertTrue(DocumentMatcher.compare(null, 1) < 0);
+        assertTrue(DocumentMatcher.compare(2, 10L) < 0);
+        assertTrue(DocumentMatcher.compare(100, "a") < 0);
+        assertTrue(DocumentMatcher.compare(new ObjectId("000000000000000000000001"),
+                                           new ObjectId("000000000000000000000002")) < 0);
+    }
+}
@@ -0,0 +1,131 @@
+package com.framework.database.memory;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for aggregation pipeline stages in the in-memory backend
+ */
+class MemoryAggregationTest {
+
+    private static List<Document> orders() {
+        return new ArrayList<>(Arrays.asList(
+            Document.parse("{_id: 1, customer: 'ann', total: 10, items: ['a', 'b']}"),
+            Document.parse("{_id: 2, customer: 'bob', total: 25, items: []}"),
+            Document.parse("{_id: 3, customer: 'ann', total: 5.5, items: ['c']}"),
+            Document.parse("{_id: 4, customer: 'cy', total: 40}")));
+    }
+
+    private static List<Document> run(String... stages) {
+        List<Document> pipeline = Arrays.stream(stages).map(Document::parse).collect(Collectors.toList());
+        return MemoryAggregation.run(orders(), pipeline, (db, collection) -> {
+            throw new AssertionError("unexpected $out");
+        });
+    }
+
+    private static List<Object> ids(List<Document> documents) {
+        return documents.stream().map(document -> document.get("_id")).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("$match, $sort, $skip and $limit")
+    void testMatchSortPage() {
+        List<Document> result = run("{$match: {total: {$gte: 5.5}}}", "{$sort: {total: -1}}",
+                                    "{$skip: 1}", "{$limit: 2}");
+        assertEquals(Arrays.asList(2, 1), ids(result));
+    }
+
+    @Test
+    @DisplayName("$group with $sum, $avg, $push, $addToSet and $count")
+    void testGroup() {
+        List<Document> result = run("{$group: {_id: '$customer', spent: {$sum: '$total'}, avg: {$avg: '$total'},"
+                                    + " ids: {$push: '$_id'}, n: {$count: {}}}}",
+                                    "{$sort: {_id: 1}}");
+        assertEquals(Arrays.asList("ann", "bob", "cy"), ids(result));
+        Document ann = result.get(0);
+        assertTrue(DocumentMatcher.valuesEqual(15.5, ann.get("spent")));
+        assertEquals(7.75, ann.getDouble("avg"), 1e-9);
+        assertEquals(Arrays.asList(1, 3), ann.get("ids"));
+        assertEquals(2, ann.get("n"));
+
+        List<Document> customers = run("{$group: {_id: null, names: {$addToSet: '$customer'}}}");
+        assertEquals(Arrays.asList("ann", "bob", "cy"), customers.get(0).get("names"));
+    }
+
+    @Test
+    @DisplayName("$project inclusion, exclusion and computed fields")
+    void testProject() {
+        Document projected = run("{$match: {_id: 1}}",
+                                 "{$project: {_id: 0, customer: 1, doubled: {$multiply: ['$total', 2]}}}").get(0);
+        assertEquals(Document.parse("{customer: 'ann', doubled: 20}"), projected);
+
+        Document excluded = run("{$match: {_id: 1}}", "{$project: {items: 0, total: 0}}").get(0);
+        assertEquals(Document.parse("{_id: 1, customer: 'ann'}"), excluded);
+    }
+
+    @Test
+    @DisplayName("$addFields, $unset and $count")
+    void testAddFieldsUnsetCount() {
+        Document withTax = run("{$match: {_id: 2}}", "{$addFields: {gross: {$add: ['$total', 5]}}}",
+                               "{$unset: ['items', 'customer']}").get(0);
+        assertEquals(Document.parse("{_id: 2, total: 25, gross: 30}"), withTax);
+
+        assertEquals(Document.parse("{big: 2}"), run("{$match: {total: {$gt: 20}}}", "{$count: 'big'}").get(0));
+    }
+
+    @Test
+    @DisplayName("$unwind drops empty and missing arrays unless preserveNullAndEmptyArrays is set")
+    void testUnwind() {
+        assertEquals(Arrays.asList(1, 1, 3), ids(run("{$unwind: '$items'}")));
+        List<Document> preserved = run("{$unwind: {path: '$items', preserveNullAndEmptyArrays: true}}");
+        assertEquals(Arrays.asList(1, 1, 2, 3, 4), ids(preserved));
+        assertEquals("b", preserved.get(1).get("items"));
+        assertFalse(preserved.get(2).containsKey("items"));
+    }
+
+    @Test
+    @DisplayName("$bucketAuto splits into equal-count buckets without splitting equal values")
+    void testBucketAuto() {
+        List<Document> input = new ArrayList<>();
+        for (int value : new int[] {1, 2, 2, 2, 3, 4, 5, 6}) {
+            input.add(new Document("v", value));
+        }
+        List<Document> buckets = MemoryAggregation.run(input,
+            List.of(Document.parse("{$bucketAuto: {groupBy: '$v', buckets: 4}}")), null);
+        assertEquals(3, buckets.size());
+        assertEquals(Document.parse("{min: 1, max: 3}"), buckets.get(0).get("_id"));
+        assertEquals(4, buckets.get(0).get("count"));
+        assertEquals(8, buckets.stream().mapToInt(bucket -> bucket.getInteger("count")).sum());
+    }
+
+    @Test
+    @DisplayName("$out replaces the target collection contents")
+    void testOut() {
+        MemoryCollection target = new MemoryCollection(null, "db", "target");
+        target.insert(new Document("stale", true));
+        List<Document> result = MemoryAggregation.run(orders(),
+            List.of(Document.parse("{$match: {customer: 'ann'}}"), Document.parse("{$out: 'target'}")),
+            (db, collection) -> {
+                assertNull(db);
+                assertEquals("target", collection);
+                return target;
+            });
+        assertTrue(result.isEmpty());
+        assertEquals(Arrays.asList(1, 3), ids(target.snapshot()));
+    }
+
+    @Test
+    @DisplayName("Malformed and unsupported stages are rejected")
+    void testInvalidStages() {
+        assertThrows(IllegalArgumentException.class, () -> run("{$match: {}, $limit: 1}"));
+        assertThrows(UnsupportedOperationException.class, () -> run("{$lookup: {from: 'x'}}"));
+    }
+}
@@ -0,0 +1,167 @@
+package com.framework.database.memory;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for unique-index enforcement and collection lifecycle in the in-memory backend
+ */
+class MemoryCollectionTest {
+
+    private MongoDatabase database;
+    private MongoCollection<Document> users;
+
+    @BeforeEach
+    void setUp() {
+        MongoClient client = InMemoryMongoClient.create();
+        database = client.getDatabase("testdb");
+        users = database.getCollection("users");
+    }
+
+    private static void assertDuplicateKey(Runnable write, String index) {
+        MongoWriteException e = assertThrows(MongoWriteException.class, write::run);
+        assertEquals(11000, e.getError().getCode());
+        assertTrue(e.getError().getMessage().contains("index: " + index), e.getError().getMessage());
+    }
+
+    @Test
+    @DisplayName("A repeated _id is rejected, also across numeric types")
+    void testDuplicateId() {
+        users.insertOne(new Document("_id", 1).append("name", "a"));
+        assertDuplicateKey(() -> users.insertOne(new Document("_id", 1)), "_id_");
+        assertDuplicateKey(() -> users.insertOne(new Document("_id", 1L)), "_id_");
+        assertDuplicateKey(() -> users.insertOne(new Document("_id", 1.0)), "_id_");
+        assertEquals(1, users.countDocuments());
+    }
+
+    @Test
+    @DisplayName("Unique indexes reject duplicates on insert, update and replace")
+    void testUniqueIndex() {
+        users.createIndex(Indexes.ascending("email"), new IndexOptions().unique(true));
+        users.insertOne(new Document("_id", 1).append("email", "a@x"));
+        users.insertOne(new Document("_id", 2).append("email", "b@x"));
+
+        assertDuplicateKey(() -> users.insertOne(new Document("_id", 3).append("email", "a@x")), "email_1");
+        assertDuplicateKey(() -> users.updateOne(Filters.eq("_id", 2), Updates.set("email", "a@x")), "email_1");
+        assertDuplicateKey(() -> users.replaceOne(Filters.eq("_id", 2), new Document("email", "a@x")), "email_1");
+
+        // Rewriting a document with its own key is not a conflict
+        users.replaceOne(Filters.eq("_id", 1), new Document("email", "a@x").append("name", "kept"));
+        assertEquals("kept", users.find(Filters.eq("_id", 1)).first().getString("name"));
+        assertEquals("b@x", users.find(Filters.eq("_id", 2)).first().getString("email"));
+    }
+
+    @Test
+    @DisplayName("Deleting or changing a document frees its unique key")
+    void testKeyReleasedOnDeleteAndUpdate() {
+        users.createIndex(Indexes.ascending("email"), new IndexOptions().unique(true));
+        users.insertOne(new Document("_id", 1).append("email", "a@x"));
+        users.updateOne(Filters.eq("_id", 1), Updates.set("email", "b@x"));
+        users.insertOne(new Document("_id", 2).append("email", "a@x"));
+
+        users.deleteOne(Filters.eq("_id", 1));
+        users.insertOne(new Document("_id", 1).append("email", "b@x"));
+        assertEquals(2, users.countDocuments());
+    }
+
+    @Test
+    @DisplayName("Compound unique keys and documents missing the field")
+    void testCompoundAndMissingKeys() {
+        users.createIndex(Indexes.ascending("tenant", "login"), new IndexOptions().unique(true));
+        users.insertOne(new Document("tenant", "t1").append("login", "ann"));
+        users.insertOne(new Document("tenant", "t2").append("login", "ann"));
+        assertDuplicateKey(() -> users.insertOne(new Document("tenant", "t1").append("login", "ann")),
+                           "tenant_1_login_1");
+
+        // Like the server, a missing field indexes as null, so only one such document fits
+        users.insertOne(new Document("other", 1));
+        assertDuplicateKey(() -> users.insertOne(new Document("other", 2)), "tenant_1_login_1");
+    }
+
+    @Test
+    @DisplayName("Creating a unique index over existing duplicates fails and leaves no index")
+    void testUniqueIndexOnDuplicateData() {
+        users.insertOne(new Document("email", "a@x"));
+        users.insertOne(new Document("email", "a@x"));
+        assertThrows(MongoWriteException.class,
+                     () -> users.createIndex(Indexes.ascending("email"), new IndexOptions().unique(true)));
+        List<Document> indexes = users.listIndexes().into(new ArrayList<>());
+        assertEquals(1, indexes.size());
+
+        // Dropping a unique index stops enforcing it
+        users.deleteMany(new Document());
+        users.createIndex(Indexes.ascending("email"), new IndexOptions().unique(true));
+        users.dropIndex("email_1");
+        users.insertOne(new Document("email", "a@x"));
+        users.insertOne(new Document("email", "a@x"));
+    }
+
+    @Test
+    @DisplayName("Unordered bulk writes report each duplicate and keep the rest")
+    void testBulkWriteDuplicates() {
+        List<WriteModel<Document>> writes = new ArrayList<>();
+        for (int id : new int[] {1, 2, 1, 3, 2}) {
+            writes.add(new InsertOneModel<>(new Document("_id", id)));
+        }
+        MongoBulkWriteException e = assertThrows(MongoBulkWriteException.class,
+            () -> users.bulkWrite(writes, new BulkWriteOptions().ordered(false)));
+        assertEquals(2, e.getWriteErrors().size());
+        assertEquals(2, e.getWriteErrors().get(0).getIndex());
+        assertEquals(4, e.getWriteErrors().get(1).getIndex());
+        assertEquals(3, users.countDocuments());
+
+        MongoBulkWriteException ordered = assertThrows(MongoBulkWriteException.class,
+            () -> database.getCollection("ordered").bulkWrite(writes));
+        assertEquals(1, ordered.getWriteErrors().size());
+        assertEquals(2, database.getCollection("ordered").countDocuments());
+    }
+
+    @Test
+    @DisplayName("Seeding stays linear with a unique index")
+    void testSeedingScales() {
+        users.createIndex(Indexes.ascending("email"), new IndexOptions().unique(true));
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < 50_000; i++) {
+                users.insertOne(new Document("_id", i).append("email", "user" + i + "@x"));
+            }
+        });
+        assertEquals(50_000, users.countDocuments());
+    }
+
+    @Test
+    @DisplayName("Reads do not create collections; writes do")
+    void testReadsDoNotCreateCollections() {
+        MongoCollection<Document> missing = database.getCollection("missing");
+        assertNull(missing.find().first());
+        assertEquals(0, missing.countDocuments());
+        missing.deleteMany(new Document());
+        missing.updateOne(Filters.eq("_id", 1), Updates.set("x", 1));
+        missing.aggregate(List.of(new Document("$match", new Document()))).into(new ArrayList<>());
+        assertFalse(database.listCollectionNames().into(new ArrayList<>()).contains("missing"));
+
+        missing.updateOne(Filters.eq("_id", 1), Updates.set("x", 1), new UpdateOptions().upsert(true));
+        assertTrue(database.listCollectionNames().into(new ArrayList<>()).contains("missing"));
+        assertEquals(1, missing.countDocuments());
+    }
+}
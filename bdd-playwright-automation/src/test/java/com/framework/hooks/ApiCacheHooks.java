@@ -0,0 +1,22 @@
+package com.framework.hooks;
+
+import com.framework.api.client.ResponseCache;
+import io.cucumber.java.AfterAll;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+public class ApiCacheHooks {
+
+    // Write record/replay hit and miss counts once the whole suite has run
+    @AfterAll
+    public static void dumpResponseCacheStats() throws IOException {
+        ResponseCache cache = ResponseCache.getInstance();
+        if (cache.getMode() != ResponseCache.Mode.OFF) {
+            Files.createDirectories(Paths.get("target"));
+            Files.write(Paths.get("target", "api-cache-stats.txt"), cache.stats().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
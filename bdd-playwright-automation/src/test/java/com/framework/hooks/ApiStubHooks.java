@@ -0,0 +1,26 @@
+package com.framework.hooks;
+
+import com.framework.api.stub.UserStubServer;
+import com.framework.config.EnvironmentConfig;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.BeforeAll;
+
+public class ApiStubHooks {
+    private static UserStubServer stub;
+
+    // Serve /users locally so API scenarios run offline and at loopback speed
+    @BeforeAll
+    public static void startUserStub() {
+        if (EnvironmentConfig.getBoolean("api.stub.enabled", false)) {
+            stub = UserStubServer.install();
+        }
+    }
+
+    @AfterAll
+    public static void stopUserStub() {
+        if (stub != null) {
+            stub.close();
+            stub = null;
+        }
+    }
+}
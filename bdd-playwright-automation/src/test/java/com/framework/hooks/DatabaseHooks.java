@@ -0,0 +1,50 @@
+package com.framework.hooks;
+
+import com.framework.database.MongoDBConnection;
+import com.framework.database.MongoMetrics;
+import com.framework.database.QueryPlanAdvisor;
+import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+public class DatabaseHooks {
+    private MongoMetrics.Snapshot metricsAtStart;
+
+    // Drop the scenario's isolated database; skipped when Mongo was never used
+    @After
+    public void releaseIsolatedDatabase() {
+        if (MongoDBConnection.isIsolationEnabled() && MongoDBConnection.isInitialized()) {
+            MongoDBConnection.getInstance().releaseScopedDatabase();
+        }
+    }
+
+    @Before
+    public void snapshotMongoMetrics() {
+        metricsAtStart = MongoMetrics.getInstance().snapshot();
+    }
+
+    // Attach only this scenario's commands, and only when it issued any; suite totals go to target/mongo-metrics.txt
+    @After
+    public void attachMongoMetrics(Scenario scenario) {
+        MongoMetrics.Snapshot scenarioMetrics = MongoMetrics.getInstance().snapshot().since(metricsAtStart);
+        if (scenarioMetrics.getCommandCount() > 0) {
+            scenario.attach(scenarioMetrics.report().getBytes(StandardCharsets.UTF_8), "text/plain",
+                            "MongoDB commands in this scenario");
+        }
+    }
+
+    // Dump pool and command latency metrics once the whole suite has run
+    @AfterAll
+    public static void dumpMongoMetrics() {
+        if (MongoDBConnection.isInitialized()) {
+            MongoMetrics.getInstance().writeReport(Paths.get("target", "mongo-metrics.txt"));
+            if (MongoDBConnection.isIndexAdvisorEnabled()) {
+                QueryPlanAdvisor.getInstance().writeReport(Paths.get("target", "mongo-index-advice.txt"));
+            }
+        }
+    }
+}
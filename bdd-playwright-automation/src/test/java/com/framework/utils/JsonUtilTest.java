@@ -0,0 +1,109 @@
+package com.framework.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.framework.api.model.UserRequest;
+import com.framework.api.stub.UserStubServer;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the shared JSON engine and its RestAssured mapper
+ */
+class JsonUtilTest {
+
+    private static final UserRequest USER = new UserRequest("Leanne Graham", "Bret", "Sincere@april.biz");
+
+    private static void assertSameUser(UserRequest expected, UserRequest actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getUsername(), actual.getUsername());
+        assertEquals(expected.getEmail(), actual.getEmail());
+    }
+
+    @Test
+    @DisplayName("A UserRequest survives String, byte[] and stream round trips")
+    void testUserRequestRoundTrip() {
+        String json = JsonUtil.toJson(USER);
+        assertEquals("{\"name\":\"Leanne Graham\",\"username\":\"Bret\",\"email\":\"Sincere@april.biz\"}", json);
+        assertSameUser(USER, JsonUtil.fromJson(json, UserRequest.class));
+
+        byte[] bytes = JsonUtil.toBytes(USER);
+        assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), bytes);
+        assertSameUser(USER, JsonUtil.fromBytes(bytes, UserRequest.class));
+        assertSameUser(USER, JsonUtil.fromStream(new ByteArrayInputStream(bytes), UserRequest.class));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonUtil.writeTo(USER, out);
+        JsonUtil.writeTo(USER, out);
+        assertEquals(json + json, out.toString(StandardCharsets.UTF_8), "writeTo leaves the stream open");
+
+        List<UserRequest> users = JsonUtil.fromJson("[" + json + "," + json + "]", new TypeReference<List<UserRequest>>() {});
+        assertEquals(2, users.size());
+        assertSameUser(USER, users.get(1));
+    }
+
+    @Test
+    @DisplayName("Unknown properties are ignored and missing ones stay null")
+    void testLenientReading() {
+        UserRequest user = JsonUtil.fromJson("{\"id\":1,\"username\":\"Bret\",\"address\":{\"city\":\"Gwenborough\"}}",
+                                             UserRequest.class);
+        assertEquals("Bret", user.getUsername());
+        assertNull(user.getName());
+        assertEquals("null", JsonUtil.toJson(null));
+    }
+
+    @Test
+    @DisplayName("Malformed JSON throws JsonException naming the type, with the parser error as cause")
+    void testMalformedJson() {
+        JsonUtil.JsonException e = assertThrows(JsonUtil.JsonException.class,
+            () -> JsonUtil.fromJson("{\"name\": \"Leanne", UserRequest.class));
+        assertInstanceOf(JsonProcessingException.class, e.getCause());
+        assertTrue(e.getMessage().startsWith("JSON deserialization error for " + UserRequest.class.getName() + ": "),
+                   e.getMessage());
+
+        e = assertThrows(JsonUtil.JsonException.class,
+            () -> JsonUtil.fromBytes("[1,".getBytes(StandardCharsets.UTF_8), new TypeReference<List<Integer>>() {}));
+        assertNotNull(e.getCause());
+        assertTrue(e.getMessage().contains("java.util.List"), e.getMessage());
+
+        e = assertThrows(JsonUtil.JsonException.class, () -> JsonUtil.readTree("{oops}".getBytes(StandardCharsets.UTF_8)));
+        assertInstanceOf(JsonProcessingException.class, e.getCause());
+        assertThrows(JsonUtil.JsonException.class, () -> JsonUtil.fromJson("\"text\"", UserRequest.class));
+    }
+
+    @Test
+    @DisplayName("The RestAssured mapper serializes request bodies and deserializes responses")
+    void testRestAssuredMapper() {
+        try (UserStubServer stub = UserStubServer.start()) {
+            Response created = given().baseUri(stub.getBaseUri().toString())
+                                      .contentType("application/json")
+                                      .body(USER, JsonUtil.restAssuredMapper())
+                                      .post("/users");
+            assertEquals(201, created.getStatusCode());
+
+            JsonNode echoed = JsonUtil.readTree(created.asByteArray());
+            assertEquals(11, echoed.path("id").asInt());
+            assertEquals("Bret", echoed.path("username").asText());
+            assertSameUser(USER, created.as(UserRequest.class, JsonUtil.restAssuredMapper()));
+
+            Response list = given().baseUri(stub.getBaseUri().toString()).get("/users");
+            UserRequest[] users = list.as(UserRequest[].class, JsonUtil.restAssuredMapper());
+            assertEquals(10, users.length);
+            assertEquals("Bret", users[0].getUsername());
+
+            Map<String, Object> raw = list.jsonPath().getMap("[1]");
+            assertEquals(users[1].getUsername(), raw.get("username"));
+        }
+    }
+}
@@ -4,7 +4,9 @@ Feature: User API
     When I get user with id 1
     Then the API response status is 200
     And the API response contains "Leanne Graham"
+    And the API response field "$.username" is "Bret"
 
   Scenario: Create a new user
     When I create a new user with name "Jane" username "jane_doe" and email "jane@example.com"
-    Then the API response status is 201
\ No newline at end of file
+    Then the API response status is 201
+    And the API response field "$.username" is "jane_doe"
\ No newline at end of file